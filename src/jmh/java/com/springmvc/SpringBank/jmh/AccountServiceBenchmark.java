@@ -0,0 +1,34 @@
+package com.springmvc.SpringBank.jmh;
+
+import com.springmvc.SpringBank.dto.AccountResponse;
+import com.springmvc.SpringBank.entity.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account read paths: the cached entity lookup and the single-query inquiry projection
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+	@Benchmark
+	public Account findByAccountNumber(SpringBankState state) {
+		return state.accountService.findByAccountNumber(state.accountNumber);
+	}
+
+	@Benchmark
+	public AccountResponse findAccountResponse(SpringBankState state) {
+		return state.accountService.findAccountResponse(state.accountNumber);
+	}
+}
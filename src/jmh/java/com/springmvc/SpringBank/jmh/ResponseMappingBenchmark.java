@@ -0,0 +1,105 @@
+package com.springmvc.SpringBank.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springmvc.SpringBank.dto.AccountResponse;
+import com.springmvc.SpringBank.dto.TransactionResponse;
+import com.springmvc.SpringBank.entity.Account;
+import com.springmvc.SpringBank.entity.Customer;
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.AccountStatus;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.enums.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response DTO mapping and JSON serialization of transaction history lists
+ * Needs no application context; the ObjectMapper is built with the same builder defaults
+ * Spring Boot uses for the MVC message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+	@Param({"100", "10000"})
+	private int historySize;
+
+	private Account account;
+
+	private Customer customer;
+
+	private Transaction transaction;
+
+	private List<Transaction> history;
+
+	private List<TransactionResponse> historyResponses;
+
+	private ObjectMapper objectMapper;
+
+	@Setup
+	public void setUp() {
+		LocalDateTime now = LocalDateTime.now();
+
+		customer = new Customer("Mapping Benchmark", "mapping@example.com", "555-0100");
+		customer.setId(1L);
+
+		account = new Account("ACC1234567890123456", 1L, AccountType.SAVINGS);
+		account.setBalance(new BigDecimal("12345.67"));
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setCreatedDate(now);
+
+		history = new ArrayList<>(historySize);
+		for (int i = 0; i < historySize; i++) {
+			Transaction t = new Transaction(account.getAccountNumber(),
+					i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL,
+					new BigDecimal("25.00"), new BigDecimal("12345.67"), "History entry " + i);
+			t.setId((long) i);
+			t.setTransactionDate(now.minusMinutes(i));
+			history.add(t);
+		}
+		transaction = history.get(0);
+		historyResponses = history.stream().map(TransactionResponse::from).toList();
+
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	}
+
+	@Benchmark
+	public AccountResponse accountResponseFrom() {
+		return AccountResponse.from(account, customer);
+	}
+
+	@Benchmark
+	public TransactionResponse transactionResponseFrom() {
+		return TransactionResponse.from(transaction);
+	}
+
+	@Benchmark
+	public List<TransactionResponse> mapHistory() {
+		return history.stream().map(TransactionResponse::from).toList();
+	}
+
+	@Benchmark
+	public byte[] serializeHistory() throws Exception {
+		return objectMapper.writeValueAsBytes(historyResponses);
+	}
+}
@@ -0,0 +1,56 @@
+package com.springmvc.SpringBank.jmh;
+
+import com.springmvc.SpringBank.SpringBankApplication;
+import com.springmvc.SpringBank.TestAccounts;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.service.AccountService;
+import com.springmvc.SpringBank.service.TransactionService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+
+/**
+ * Application context shared by the service benchmarks
+ * Boots SpringBank without the web layer against the embedded H2 database and opens one
+ * account with a large opening balance, so withdrawals never run dry during a trial.
+ */
+@State(Scope.Benchmark)
+public class SpringBankState {
+
+	static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000000.00");
+
+	ConfigurableApplicationContext context;
+
+	TransactionService transactionService;
+
+	AccountService accountService;
+
+	String accountNumber;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(SpringBankApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("test")
+				.properties("spring.h2.console.enabled=false", "logging.level.root=WARN")
+				.run();
+
+		transactionService = context.getBean(TransactionService.class);
+		accountService = context.getBean(AccountService.class);
+
+		accountNumber = TestAccounts.open(context, AccountType.CURRENT);
+		transactionService.deposit(accountNumber, OPENING_BALANCE, "opening balance");
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+}
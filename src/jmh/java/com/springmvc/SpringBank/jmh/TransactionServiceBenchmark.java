@@ -0,0 +1,37 @@
+package com.springmvc.SpringBank.jmh;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-account posting path: lock, guarded balance update, transaction insert, commit
+ * Every invocation writes a transaction row, so trials are kept short to bound heap use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionServiceBenchmark {
+
+	private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+	@Benchmark
+	public Transaction deposit(SpringBankState state) {
+		return state.transactionService.deposit(state.accountNumber, AMOUNT, "jmh deposit");
+	}
+
+	@Benchmark
+	public Transaction withdraw(SpringBankState state) {
+		return state.transactionService.withdraw(state.accountNumber, AMOUNT, "jmh withdrawal");
+	}
+}
@@ -0,0 +1,83 @@
+package com.springmvc.SpringBank.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration for SpringBank
+ * In-process Caffeine caches, bounded by size and TTL, with statistics recorded so
+ * Actuator publishes hit/miss metrics (cache.gets, cache.evictions, ...) per cache
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Accounts keyed by account number
+     */
+    public static final String ACCOUNTS = "accounts";
+
+    /**
+     * Customers keyed by id
+     */
+    public static final String CUSTOMERS = "customers";
+
+    /**
+     * Registered emails (always TRUE) keyed by email, backing the uniqueness check; unknown
+     * emails are not cached, since another instance may register them
+     */
+    public static final String CUSTOMER_EMAILS = "customerEmails";
+
+    /**
+     * Responses of idempotent postings (TransactionResponse) keyed by Idempotency-Key
+     */
+    public static final String IDEMPOTENCY_KEYS = "idempotencyKeys";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${springbank.cache.accounts.maximum-size:100000}") long accountsMaximumSize,
+            @Value("${springbank.cache.accounts.expire-after-write:60s}") Duration accountsExpireAfterWrite,
+            @Value("${springbank.cache.customers.maximum-size:100000}") long customersMaximumSize,
+            @Value("${springbank.cache.customers.expire-after-write:10m}") Duration customersExpireAfterWrite,
+            @Value("${springbank.cache.idempotency-keys.maximum-size:1000000}") long idempotencyKeysMaximumSize,
+            @Value("${springbank.cache.idempotency-keys.expire-after-write:24h}") Duration idempotencyKeysExpireAfterWrite) {
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.registerCustomCache(ACCOUNTS, Caffeine.newBuilder()
+                .maximumSize(accountsMaximumSize)
+                .expireAfterWrite(accountsExpireAfterWrite)
+                .recordStats()
+                .build());
+
+        // Customer details rarely change, so they can live longer than accounts
+        caffeineCacheManager.registerCustomCache(CUSTOMERS, Caffeine.newBuilder()
+                .maximumSize(customersMaximumSize)
+                .expireAfterWrite(customersExpireAfterWrite)
+                .recordStats()
+                .build());
+        caffeineCacheManager.registerCustomCache(CUSTOMER_EMAILS, Caffeine.newBuilder()
+                .maximumSize(customersMaximumSize)
+                .expireAfterWrite(customersExpireAfterWrite)
+                .recordStats()
+                .build());
+
+        // Retries arrive within seconds to minutes; older keys fall back to the unique column
+        caffeineCacheManager.registerCustomCache(IDEMPOTENCY_KEYS, Caffeine.newBuilder()
+                .maximumSize(idempotencyKeysMaximumSize)
+                .expireAfterWrite(idempotencyKeysExpireAfterWrite)
+                .recordStats()
+                .build());
+
+        // Puts and evictions issued inside a transaction are applied after it commits,
+        // so a posting cannot be evicted before its balance change is visible to readers
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
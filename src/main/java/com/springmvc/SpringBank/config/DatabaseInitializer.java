@@ -64,7 +64,10 @@ public class DatabaseInitializer implements CommandLineRunner {
         customer.setPhone(phone);
         customer.setCreatedDate(LocalDateTime.now());
         
-        return customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.save(customer);
+        // Keep the maintained customer count in step (CustomerService does this for API creates)
+        customerRepository.addToCustomerCounter(0, 1);
+        return savedCustomer;
     }
     
     private void logCreatedData() {
@@ -38,7 +38,7 @@ public class AccountController {
      */
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody AccountRequest request) {
-        logger.info("Received request to create account for customer: {}, type: {}", 
+        logger.debug("Received request to create account for customer: {}, type: {}", 
                    request.getCustomerId(), request.getAccountType());
         
         try {
@@ -48,13 +48,13 @@ public class AccountController {
                 request.getAccountType()
             );
             
-            // Get customer details for response
+            // Get customer details for response (served from the customer cache)
             Customer customer = customerService.findCustomerById(account.getCustomerId());
             
             // Convert to response DTO
             AccountResponse response = AccountResponse.from(account, customer);
             
-            logger.info("Account created successfully: {} for customer: {}", 
+            logger.debug("Account created successfully: {} for customer: {}", 
                        response.getAccountNumber(), response.getCustomerName());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
@@ -73,20 +73,16 @@ public class AccountController {
      */
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponse> getAccount(@PathVariable String accountNumber) {
-        logger.info("Received request to get account: {}", accountNumber);
+        logger.debug("Received request to get account: {}", accountNumber);
         
         try {
-            // Find account using regular method (not the problematic one)
-            Account account = accountService.findByAccountNumber(accountNumber);
+            // Account and customer name in a single projection query
+            AccountResponse response = accountService.findAccountResponse(accountNumber);
             
-            // Get customer details separately
-            Customer customer = customerService.findCustomerById(account.getCustomerId());
-            
-            // Convert to response DTO
-            AccountResponse response = AccountResponse.from(account, customer);
-            
-            logger.info("Account found: {} for customer: {} (Status: {})", 
-                       response.getAccountNumber(), response.getCustomerName(), response.getStatus());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Account found: {} for customer: {} (Status: {})", 
+                           response.getAccountNumber(), response.getCustomerName(), response.getStatus());
+            }
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -103,19 +99,19 @@ public class AccountController {
      */
     @PutMapping("/{accountNumber}/close")
     public ResponseEntity<AccountResponse> closeAccount(@PathVariable String accountNumber) {
-        logger.info("Received request to close account: {}", accountNumber);
+        logger.debug("Received request to close account: {}", accountNumber);
         
         try {
             // Close account using service
             Account account = accountService.closeAccount(accountNumber);
             
-            // Get customer details
+            // Get customer details (served from the customer cache)
             Customer customer = customerService.findCustomerById(account.getCustomerId());
             
             // Convert to response DTO
             AccountResponse response = AccountResponse.from(account, customer);
             
-            logger.info("Account closed successfully: {} for customer: {}", 
+            logger.debug("Account closed successfully: {} for customer: {}", 
                        response.getAccountNumber(), response.getCustomerName());
             return ResponseEntity.ok(response);
             
@@ -133,7 +129,7 @@ public class AccountController {
      */
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<AccountResponse>> getAccountsByCustomer(@PathVariable Long customerId) {
-        logger.info("Received request to get accounts for customer: {}", customerId);
+        logger.debug("Received request to get accounts for customer: {}", customerId);
         
         try {
             // Find customer first (validates existence)
@@ -147,8 +143,10 @@ public class AccountController {
                 .map(account -> AccountResponse.from(account, customer))
                 .collect(Collectors.toList());
             
-            logger.info("Found {} accounts for customer: {} ({})", 
-                       responses.size(), customer.getName(), customerId);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Found {} accounts for customer: {} ({})", 
+                           responses.size(), customer.getName(), customerId);
+            }
             return ResponseEntity.ok(responses);
             
         } catch (Exception e) {
@@ -165,7 +163,7 @@ public class AccountController {
      */
     @GetMapping("/customer/{customerId}/active")
     public ResponseEntity<List<AccountResponse>> getActiveAccountsByCustomer(@PathVariable Long customerId) {
-        logger.info("Received request to get active accounts for customer: {}", customerId);
+        logger.debug("Received request to get active accounts for customer: {}", customerId);
         
         try {
             // Find customer first (validates existence)
@@ -179,8 +177,10 @@ public class AccountController {
                 .map(account -> AccountResponse.from(account, customer))
                 .collect(Collectors.toList());
             
-            logger.info("Found {} active accounts for customer: {} ({})", 
-                       responses.size(), customer.getName(), customerId);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Found {} active accounts for customer: {} ({})", 
+                           responses.size(), customer.getName(), customerId);
+            }
             return ResponseEntity.ok(responses);
             
         } catch (Exception e) {
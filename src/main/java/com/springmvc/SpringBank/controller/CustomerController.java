@@ -1,5 +1,7 @@
 package com.springmvc.SpringBank.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springmvc.SpringBank.dto.CustomerImportResponse;
 import com.springmvc.SpringBank.dto.CustomerRequest;
 import com.springmvc.SpringBank.dto.CustomerResponse;
 import com.springmvc.SpringBank.entity.Customer;
@@ -10,10 +12,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +43,9 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * CREATE CUSTOMER API
      * Assessment Requirement: "Create Customer: Accepts name and auto-generates ID"
@@ -38,7 +53,7 @@ public class CustomerController {
      */
     @PostMapping
     public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest request) {
-        logger.info("Received request to create customer: {}", request.getName());
+        logger.debug("Received request to create customer: {}", request.getName());
         
         try {
             Customer customer = customerService.createCustomer(
@@ -55,7 +70,7 @@ public class CustomerController {
                 customer.getCreatedDate()
             );
             
-            logger.info("Customer created successfully with ID: {} | Name: {}", 
+            logger.debug("Customer created successfully with ID: {} | Name: {}", 
                        response.getId(), response.getName());
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -70,6 +85,54 @@ public class CustomerController {
         }
     }
     
+    /**
+     * BULK IMPORT CUSTOMERS API (JSON)
+     * Partner bank onboarding: imports a JSON array of customers in chunks
+     * Rows that fail validation or clash on email are reported in the response, not rejected as a whole
+     * POST /api/customers/import (Content-Type: application/json)
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomerImportResponse> importCustomers(@RequestBody List<CustomerRequest> requests) {
+        logger.debug("Received request to import {} customers", requests.size());
+        
+        try {
+            CustomerImportResponse response = customerService.importCustomers(requests.iterator());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid input for customer import: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            
+        } catch (Exception e) {
+            logger.error("Unexpected error importing customers", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * BULK IMPORT CUSTOMERS API (CSV)
+     * Same as the JSON import, but the body is streamed line by line so large files are never held in memory
+     * Header line names the columns: name,email,phone
+     * POST /api/customers/import (Content-Type: text/csv)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<CustomerImportResponse> importCustomersCsv(Reader csv) {
+        logger.debug("Received request to import customers from CSV");
+        
+        try {
+            CustomerImportResponse response = customerService.importCustomersCsv(csv);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid CSV for customer import: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            
+        } catch (Exception e) {
+            logger.error("Unexpected error importing customers from CSV", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * GET CUSTOMER BY ID API
      * Assessment Requirement: "Inquire Customer: Returns customer details by ID"
@@ -77,7 +140,7 @@ public class CustomerController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
-        logger.info("Received request to get customer by ID: {}", id);
+        logger.debug("Received request to get customer by ID: {}", id);
         
         try {
             Customer customer = customerService.findCustomerById(id);
@@ -90,7 +153,7 @@ public class CustomerController {
                 customer.getCreatedDate()
             );
             
-            logger.info("Found customer: {} | ID: {}", customer.getName(), id);
+            logger.debug("Found customer: {} | ID: {}", customer.getName(), id);
             return ResponseEntity.ok(response);
             
         } catch (CustomerNotFoundException e) {
@@ -107,42 +170,98 @@ public class CustomerController {
      * GET ALL CUSTOMERS API - CRITICAL MISSING ENDPOINT
      * This was causing the 405 Method Not Allowed error in frontend
      * Frontend connectivity testing requires this endpoint
-     * GET /api/customers
+     * 
+     * Always answers with a JSON array of customers in id order:
+     * - page/size: one offset page (size defaults to 100, at most 500)
+     * - afterId/size: one keyset page; pass the last id of a page to get the next one
+     * - no parameters: the first page of 100
+     * - stream=true: every customer, streamed as it is read from the database, so memory use
+     *   does not depend on the number of customers (a full table scan per request)
+     * 
+     * A bare GET used to return every customer. That full listing is deprecated and only
+     * served on request (stream=true); page through the keyset pages instead.
+     * 
+     * GET /api/customers?page={page}&size={size}
+     * GET /api/customers?afterId={lastId}&size={size}
+     * GET /api/customers?stream=true
      */
     @GetMapping
-    public ResponseEntity<List<CustomerResponse>> getAllCustomers() {
-        logger.info("Received request to get all customers");
+    public ResponseEntity<?> getAllCustomers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "false") boolean stream) {
+        logger.debug("Received request to get customers (page: {}, size: {}, afterId: {}, stream: {})", 
+                     page, size, afterId, stream);
+        
+        if (stream) {
+            return streamAllCustomers();
+        }
         
         try {
-            List<Customer> customers = customerService.findAllCustomers();
+            List<Customer> customers = customerService.findCustomersPage(
+                page != null ? page : 0, size != null ? size : 100, afterId);
             
             List<CustomerResponse> responseList = customers.stream()
-                .map(customer -> new CustomerResponse(
-                    customer.getId(),
-                    customer.getName(),
-                    customer.getEmail(),
-                    customer.getPhone(),
-                    customer.getCreatedDate()
-                ))
+                .map(CustomerResponse::from)
                 .collect(Collectors.toList());
             
-            logger.info("Found {} customers in database", responseList.size());
+            logger.debug("Found {} customers in database", responseList.size());
             return ResponseEntity.ok(responseList);
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid customer page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
         } catch (Exception e) {
             logger.error("Unexpected error retrieving all customers", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    private ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write('[');
+            
+            long count = customerService.streamAllCustomers(new Consumer<>() {
+                private boolean first = true;
+                
+                @Override
+                public void accept(Customer customer) {
+                    try {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        first = false;
+                        writer.write(objectMapper.writeValueAsString(CustomerResponse.from(customer)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            
+            writer.write(']');
+            writer.flush();
+            logger.debug("Streamed {} customers", count);
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+    
     /**
-     * SEARCH CUSTOMERS BY NAME API - Enhancement
-     * Improves user experience for customer lookup
-     * GET /api/customers/search?name={searchTerm}
+     * SEARCH CUSTOMERS API - Enhancement
+     * Ranked, paginated search over customer name, email and phone
+     * GET /api/customers/search?name={searchTerm}&page={page}&size={size}
      */
     @GetMapping("/search")
-    public ResponseEntity<List<CustomerResponse>> searchCustomersByName(@RequestParam String name) {
-        logger.info("Received request to search customers by name: {}", name);
+    public ResponseEntity<List<CustomerResponse>> searchCustomersByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.debug("Received request to search customers by name: {}", name);
         
         try {
             if (name == null || name.trim().isEmpty()) {
@@ -150,7 +269,7 @@ public class CustomerController {
                 return ResponseEntity.badRequest().build();
             }
             
-            List<Customer> customers = customerService.findCustomersByName(name.trim());
+            List<Customer> customers = customerService.findCustomersByName(name.trim(), page, size);
             
             List<CustomerResponse> responseList = customers.stream()
                 .map(customer -> new CustomerResponse(
@@ -162,9 +281,13 @@ public class CustomerController {
                 ))
                 .collect(Collectors.toList());
             
-            logger.info("Found {} customers matching name: '{}'", responseList.size(), name);
+            logger.debug("Found {} customers matching name: '{}'", responseList.size(), name);
             return ResponseEntity.ok(responseList);
             
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid customer search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
         } catch (Exception e) {
             logger.error("Unexpected error searching customers by name: {}", name, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -178,12 +301,12 @@ public class CustomerController {
      */
     @GetMapping("/count")
     public ResponseEntity<Long> getCustomerCount() {
-        logger.info("Received request to get customer count");
+        logger.debug("Received request to get customer count");
         
         try {
             long count = customerService.getCustomerCount();
             
-            logger.info("Total customer count: {}", count);
+            logger.debug("Total customer count: {}", count);
             return ResponseEntity.ok(count);
             
         } catch (Exception e) {
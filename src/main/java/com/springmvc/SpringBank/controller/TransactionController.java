@@ -1,18 +1,35 @@
 package com.springmvc.SpringBank.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springmvc.SpringBank.dto.BatchPostingRequest;
+import com.springmvc.SpringBank.dto.BatchPostingResponse;
+import com.springmvc.SpringBank.dto.BatchPostingResult;
+import com.springmvc.SpringBank.dto.TransactionPageResponse;
 import com.springmvc.SpringBank.dto.TransactionRequest;
 import com.springmvc.SpringBank.dto.TransactionResponse;
+import com.springmvc.SpringBank.dto.TransferRequest;
+import com.springmvc.SpringBank.dto.TransferResponse;
 import com.springmvc.SpringBank.entity.Transaction;
 import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.service.AccountService;
 import com.springmvc.SpringBank.service.TransactionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,31 +44,50 @@ public class TransactionController {
     
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
     
+    /**
+     * Request header that makes deposit/withdraw safe to retry
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    
+    private static final String CSV_HEADER = 
+        "transactionId,accountNumber,transactionType,amount,balanceAfter,description,transactionDate";
+    
     @Autowired
     private TransactionService transactionService;
     
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * DEPOSIT CASH API
      * Assessment Requirement: "Deposit Cash: Accepts account number and deposit amount, and updates the balance."
      * 
      * POST /api/transactions/deposit
+     * Optional Idempotency-Key header: a retry with the same key returns the original response
      */
     @PostMapping("/deposit")
-    public ResponseEntity<TransactionResponse> deposit(@Valid @RequestBody TransactionRequest request) {
-        logger.info("Received deposit request: {} to account: {}", 
+    public ResponseEntity<TransactionResponse> deposit(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        logger.debug("Received deposit request: {} to account: {}", 
                    request.getAmount(), request.getAccountNumber());
         
         try {
-            Transaction transaction = transactionService.deposit(
-                request.getAccountNumber(),
-                request.getAmount(),
-                request.getDescription()
-            );
-            
-            TransactionResponse response = TransactionResponse.from(transaction);
+            TransactionResponse response = idempotencyKey != null
+                ? transactionService.postIdempotent(idempotencyKey, TransactionType.DEPOSIT, 
+                    request.getAccountNumber(), request.getAmount(), request.getDescription())
+                : TransactionResponse.from(transactionService.deposit(
+                    request.getAccountNumber(), request.getAmount(), request.getDescription()));
             
-            logger.info("Deposit completed successfully: Transaction ID {} | Amount: {} | New Balance: {}", 
-                       response.getTransactionId(), response.getAmount(), response.getBalanceAfter());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Deposit completed successfully: Transaction ID {} | Amount: {} | New Balance: {}", 
+                           response.getTransactionId(), response.getAmount(), response.getBalanceAfter());
+            }
             
             return ResponseEntity.ok(response);
             
@@ -67,51 +103,123 @@ public class TransactionController {
      * Assessment Requirement: "Withdraw Cash: Accepts account number and withdrawal amount, and updates the balance."
      * 
      * POST /api/transactions/withdraw
+     * Optional Idempotency-Key header, as for deposit
      */
     @PostMapping("/withdraw")
-    public ResponseEntity<TransactionResponse> withdraw(@Valid @RequestBody TransactionRequest request) {
-        logger.info("Received withdrawal request: {} from account: {}", 
+    public ResponseEntity<TransactionResponse> withdraw(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        logger.debug("Received withdrawal request: {} from account: {}", 
                    request.getAmount(), request.getAccountNumber());
         
         try {
-            Transaction transaction = transactionService.withdraw(
-                request.getAccountNumber(),
+            TransactionResponse response = idempotencyKey != null
+                ? transactionService.postIdempotent(idempotencyKey, TransactionType.WITHDRAWAL, 
+                    request.getAccountNumber(), request.getAmount(), request.getDescription())
+                : TransactionResponse.from(transactionService.withdraw(
+                    request.getAccountNumber(), request.getAmount(), request.getDescription()));
+            
+            if (logger.isDebugEnabled()) {
+                logger.debug("Withdrawal completed successfully: Transaction ID {} | Amount: {} | New Balance: {}", 
+                           response.getTransactionId(), response.getAmount(), response.getBalanceAfter());
+            }
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing withdrawal for account: {} | Amount: {}", 
+                        request.getAccountNumber(), request.getAmount(), e);
+            throw e; // Let global exception handler deal with it
+        }
+    }
+    
+    /**
+     * TRANSFER API
+     * Moves funds between two accounts, writing a TRANSFER transaction on each side.
+     * 
+     * POST /api/transactions/transfer
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<TransferResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received transfer request: {} from account: {} to account: {}", 
+                       request.getAmount(), request.getFromAccountNumber(), request.getToAccountNumber());
+        }
+        
+        try {
+            List<Transaction> legs = transactionService.transfer(
+                request.getFromAccountNumber(),
+                request.getToAccountNumber(),
                 request.getAmount(),
                 request.getDescription()
             );
             
-            TransactionResponse response = TransactionResponse.from(transaction);
+            TransferResponse response = TransferResponse.from(legs.get(0), legs.get(1));
             
-            logger.info("Withdrawal completed successfully: Transaction ID {} | Amount: {} | New Balance: {}", 
-                       response.getTransactionId(), response.getAmount(), response.getBalanceAfter());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Transfer completed successfully: Debit ID {} | Credit ID {} | Amount: {}", 
+                           response.getDebit().getTransactionId(), response.getCredit().getTransactionId(), 
+                           response.getAmount());
+            }
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            logger.error("Error processing withdrawal for account: {} | Amount: {}", 
-                        request.getAccountNumber(), request.getAmount(), e);
+            logger.error("Error processing transfer from account: {} to account: {} | Amount: {}", 
+                        request.getFromAccountNumber(), request.getToAccountNumber(), request.getAmount(), e);
+            throw e; // Let global exception handler deal with it
+        }
+    }
+    
+    /**
+     * BATCH POSTING API
+     * Applies many deposits/withdrawals in one request (payroll and settlement feeds).
+     * Each posting is reported individually; a rejected posting does not abort the batch.
+     * 
+     * POST /api/transactions/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchPostingResponse> postBatch(@Valid @RequestBody BatchPostingRequest request) {
+        logger.debug("Received batch posting request with {} postings", request.getPostings().size());
+        
+        try {
+            List<BatchPostingResult> results = transactionService.postBatch(request.getPostings());
+            
+            BatchPostingResponse response = BatchPostingResponse.from(results);
+            
+            logger.debug("Batch posting completed: {} posted | {} rejected", 
+                       response.getPosted(), response.getRejected());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing batch of {} postings", request.getPostings().size(), e);
             throw e; // Let global exception handler deal with it
         }
     }
     
     /**
      * GET TRANSACTION HISTORY
-     * Returns all transactions for an account
+     * Returns the most recent transactions for an account, newest first
+     * Bounded to one page (size defaults to 50 and is capped server-side); continue further
+     * back with the /page endpoint, or download the full history with /export
      * 
-     * GET /api/transactions/account/{accountNumber}
+     * GET /api/transactions/account/{accountNumber}?size={size}
      */
     @GetMapping("/account/{accountNumber}")
-    public ResponseEntity<List<TransactionResponse>> getTransactionHistory(@PathVariable String accountNumber) {
-        logger.info("Received transaction history request for account: {}", accountNumber);
+    public ResponseEntity<List<TransactionResponse>> getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "50") int size) {
+        logger.debug("Received transaction history request for account: {} (size: {})", accountNumber, size);
         
         try {
-            List<Transaction> transactions = transactionService.getTransactionHistory(accountNumber);
+            List<Transaction> transactions = transactionService.getTransactionHistory(accountNumber, size);
             
             List<TransactionResponse> responses = transactions.stream()
                 .map(TransactionResponse::from)
                 .collect(Collectors.toList());
             
-            logger.info("Retrieved {} transactions for account: {}", responses.size(), accountNumber);
+            logger.debug("Retrieved {} transactions for account: {}", responses.size(), accountNumber);
             return ResponseEntity.ok(responses);
             
         } catch (Exception e) {
@@ -120,6 +228,86 @@ public class TransactionController {
         }
     }
     
+    /**
+     * GET TRANSACTION HISTORY PAGE
+     * Cursor-paginated history, newest first. Omit the cursor for the first page and pass
+     * nextCursor from the previous response to continue. Size is capped server-side.
+     * 
+     * GET /api/transactions/account/{accountNumber}/page?size={size}&cursor={cursor}
+     */
+    @GetMapping("/account/{accountNumber}/page")
+    public ResponseEntity<TransactionPageResponse> getTransactionPage(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        logger.debug("Received transaction page request for account: {} (size: {})", accountNumber, size);
+        
+        try {
+            TransactionPageResponse response = transactionService.getTransactionPage(accountNumber, cursor, size);
+            
+            if (logger.isDebugEnabled()) {
+                logger.debug("Retrieved {} transactions for account: {} (more: {})", 
+                           response.getSize(), accountNumber, response.isHasMore());
+            }
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving transaction page for account: {}", accountNumber, e);
+            throw e; // Let global exception handler deal with it
+        }
+    }
+    
+    /**
+     * EXPORT ACCOUNT STATEMENT
+     * Streams the full history (newest first) as NDJSON or CSV straight to the response.
+     * Rows are written as they are read from the database, so memory use does not depend
+     * on the size of the history.
+     * 
+     * GET /api/transactions/account/{accountNumber}/export?format={ndjson|csv}
+     */
+    @GetMapping("/account/{accountNumber}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        logger.debug("Received statement export request for account: {} (format: {})", accountNumber, format);
+        
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + " (use ndjson or csv)");
+        }
+        
+        // Validate account exists before the 200 status is committed
+        accountService.findByAccountNumber(accountNumber);
+        
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            if (csv) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            
+            long count = transactionService.streamTransactionHistory(accountNumber, transaction -> {
+                try {
+                    writer.write(csv ? toCsvLine(transaction) : toJsonLine(transaction));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            
+            writer.flush();
+            logger.debug("Exported {} transactions for account: {}", count, accountNumber);
+        };
+        
+        String filename = accountNumber + "-statement." + (csv ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+            .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+    
     /**
      * GET RECENT TRANSACTIONS
      * Returns last 10 transactions for an account
@@ -128,7 +316,7 @@ public class TransactionController {
      */
     @GetMapping("/account/{accountNumber}/recent")
     public ResponseEntity<List<TransactionResponse>> getRecentTransactions(@PathVariable String accountNumber) {
-        logger.info("Received recent transactions request for account: {}", accountNumber);
+        logger.debug("Received recent transactions request for account: {}", accountNumber);
         
         try {
             List<Transaction> transactions = transactionService.getRecentTransactions(accountNumber);
@@ -137,7 +325,7 @@ public class TransactionController {
                 .map(TransactionResponse::from)
                 .collect(Collectors.toList());
             
-            logger.info("Retrieved {} recent transactions for account: {}", responses.size(), accountNumber);
+            logger.debug("Retrieved {} recent transactions for account: {}", responses.size(), accountNumber);
             return ResponseEntity.ok(responses);
             
         } catch (Exception e) {
@@ -157,7 +345,7 @@ public class TransactionController {
             @PathVariable String accountNumber, 
             @PathVariable TransactionType transactionType) {
         
-        logger.info("Received {} transactions request for account: {}", transactionType, accountNumber);
+        logger.debug("Received {} transactions request for account: {}", transactionType, accountNumber);
         
         try {
             List<Transaction> transactions = transactionService.getTransactionsByType(accountNumber, transactionType);
@@ -166,8 +354,10 @@ public class TransactionController {
                 .map(TransactionResponse::from)
                 .collect(Collectors.toList());
             
-            logger.info("Retrieved {} {} transactions for account: {}", 
-                       responses.size(), transactionType, accountNumber);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Retrieved {} {} transactions for account: {}", 
+                           responses.size(), transactionType, accountNumber);
+            }
             return ResponseEntity.ok(responses);
             
         } catch (Exception e) {
@@ -184,12 +374,12 @@ public class TransactionController {
      */
     @GetMapping("/account/{accountNumber}/count")
     public ResponseEntity<Long> getTransactionCount(@PathVariable String accountNumber) {
-        logger.info("Received transaction count request for account: {}", accountNumber);
+        logger.debug("Received transaction count request for account: {}", accountNumber);
         
         try {
             long count = transactionService.getTransactionCount(accountNumber);
             
-            logger.info("Account {} has {} total transactions", accountNumber, count);
+            logger.debug("Account {} has {} total transactions", accountNumber, count);
             return ResponseEntity.ok(count);
             
         } catch (Exception e) {
@@ -197,4 +387,28 @@ public class TransactionController {
             throw e; // Let global exception handler deal with it
         }
     }
+    
+    private String toJsonLine(Transaction transaction) throws IOException {
+        return objectMapper.writeValueAsString(TransactionResponse.from(transaction));
+    }
+    
+    private String toCsvLine(Transaction transaction) {
+        return transaction.getId() + "," +
+               transaction.getAccountNumber() + "," +
+               transaction.getTransactionType() + "," +
+               transaction.getAmount() + "," +
+               transaction.getBalanceAfter() + "," +
+               csvField(transaction.getDescription()) + "," +
+               transaction.getTransactionDate();
+    }
+    
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.springmvc.SpringBank.dto;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.TransactionType;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a single posting inside a batch
+ * Items are validated one by one by the service so a bad line is reported
+ * in the batch result instead of rejecting the whole request
+ */
+public class BatchPostingItem {
+    
+    private String accountNumber;
+    
+    private TransactionType transactionType;
+    
+    private BigDecimal amount;
+    
+    // Checked item by item in TransactionService.validateBatchItem
+    @Size(max = Transaction.MAX_DESCRIPTION_LENGTH, message = "Description must not exceed 255 characters")
+    private String description;
+    
+    // Default constructor
+    public BatchPostingItem() {}
+    
+    // Constructor
+    public BatchPostingItem(String accountNumber, TransactionType transactionType, 
+                            BigDecimal amount, String description) {
+        this.accountNumber = accountNumber;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public String getAccountNumber() { 
+        return accountNumber; 
+    }
+    
+    public void setAccountNumber(String accountNumber) { 
+        this.accountNumber = accountNumber; 
+    }
+    
+    public TransactionType getTransactionType() { 
+        return transactionType; 
+    }
+    
+    public void setTransactionType(TransactionType transactionType) { 
+        this.transactionType = transactionType; 
+    }
+    
+    public BigDecimal getAmount() { 
+        return amount; 
+    }
+    
+    public void setAmount(BigDecimal amount) { 
+        this.amount = amount; 
+    }
+    
+    public String getDescription() { 
+        return description; 
+    }
+    
+    public void setDescription(String description) { 
+        this.description = description; 
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchPostingItem{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", transactionType=" + transactionType +
+                ", amount=" + amount +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.springmvc.SpringBank.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch posting requests
+ * Carries many deposits/withdrawals, e.g. one chunk of a payroll or settlement file
+ */
+public class BatchPostingRequest {
+    
+    @NotEmpty(message = "At least one posting is required")
+    @Size(max = 10000, message = "A batch may contain at most 10000 postings")
+    private List<BatchPostingItem> postings = new ArrayList<>();
+    
+    // Default constructor
+    public BatchPostingRequest() {}
+    
+    // Constructor
+    public BatchPostingRequest(List<BatchPostingItem> postings) {
+        this.postings = postings;
+    }
+    
+    // Getters and Setters
+    public List<BatchPostingItem> getPostings() { 
+        return postings; 
+    }
+    
+    public void setPostings(List<BatchPostingItem> postings) { 
+        this.postings = postings; 
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchPostingRequest{" +
+                "postings=" + (postings != null ? postings.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.springmvc.SpringBank.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch posting responses
+ * Summarizes the batch and lists the outcome of every posting in request order
+ */
+public class BatchPostingResponse {
+    
+    private int totalPostings;
+    private int posted;
+    private int rejected;
+    private List<BatchPostingResult> results;
+    
+    // Default constructor
+    public BatchPostingResponse() {}
+    
+    // Constructor with all fields
+    public BatchPostingResponse(int totalPostings, int posted, int rejected, List<BatchPostingResult> results) {
+        this.totalPostings = totalPostings;
+        this.posted = posted;
+        this.rejected = rejected;
+        this.results = results;
+    }
+    
+    /**
+     * Static factory method to summarize a list of per-posting results
+     */
+    public static BatchPostingResponse from(List<BatchPostingResult> results) {
+        int posted = (int) results.stream()
+            .filter(result -> BatchPostingResult.POSTED.equals(result.getStatus()))
+            .count();
+        return new BatchPostingResponse(results.size(), posted, results.size() - posted, results);
+    }
+    
+    // Getters and Setters
+    public int getTotalPostings() { return totalPostings; }
+    public void setTotalPostings(int totalPostings) { this.totalPostings = totalPostings; }
+    
+    public int getPosted() { return posted; }
+    public void setPosted(int posted) { this.posted = posted; }
+    
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    
+    public List<BatchPostingResult> getResults() { return results; }
+    public void setResults(List<BatchPostingResult> results) { this.results = results; }
+}
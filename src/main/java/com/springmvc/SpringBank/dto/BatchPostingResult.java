@@ -0,0 +1,84 @@
+package com.springmvc.SpringBank.dto;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for the outcome of one batch posting
+ * index refers to the position of the item in the request
+ */
+public class BatchPostingResult {
+    
+    public static final String POSTED = "POSTED";
+    public static final String REJECTED = "REJECTED";
+    
+    private int index;
+    private String accountNumber;
+    private TransactionType transactionType;
+    private BigDecimal amount;
+    private String status;
+    private Long transactionId;
+    private BigDecimal balanceAfter;
+    private String error;
+    
+    // Default constructor
+    public BatchPostingResult() {}
+    
+    /**
+     * Static factory method for a posting that was applied
+     */
+    public static BatchPostingResult posted(int index, Transaction transaction) {
+        BatchPostingResult result = new BatchPostingResult();
+        result.index = index;
+        result.accountNumber = transaction.getAccountNumber();
+        result.transactionType = transaction.getTransactionType();
+        result.amount = transaction.getAmount();
+        result.status = POSTED;
+        result.transactionId = transaction.getId();
+        result.balanceAfter = transaction.getBalanceAfter();
+        return result;
+    }
+    
+    /**
+     * Static factory method for a posting that was rejected
+     */
+    public static BatchPostingResult rejected(int index, BatchPostingItem item, String error) {
+        BatchPostingResult result = new BatchPostingResult();
+        result.index = index;
+        if (item != null) {
+            result.accountNumber = item.getAccountNumber();
+            result.transactionType = item.getTransactionType();
+            result.amount = item.getAmount();
+        }
+        result.status = REJECTED;
+        result.error = error;
+        return result;
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+    
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,41 @@
+package com.springmvc.SpringBank.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for bulk customer import responses
+ * Summarizes the import and lists every rejected row with its error, in input order;
+ * imported rows are only counted, so the response stays small for large files
+ */
+public class CustomerImportResponse {
+    
+    private int totalRows;
+    private int imported;
+    private int rejected;
+    private List<CustomerImportResult> errors = new ArrayList<>();
+    
+    // Default constructor
+    public CustomerImportResponse() {}
+    
+    // Constructor with all fields
+    public CustomerImportResponse(int totalRows, int imported, int rejected, List<CustomerImportResult> errors) {
+        this.totalRows = totalRows;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = errors;
+    }
+    
+    // Getters and Setters
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+    
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    
+    public List<CustomerImportResult> getErrors() { return errors; }
+    public void setErrors(List<CustomerImportResult> errors) { this.errors = errors; }
+}
@@ -0,0 +1,32 @@
+package com.springmvc.SpringBank.dto;
+
+/**
+ * Data Transfer Object for a customer import row that was rejected
+ * index is the position of the row in the import (0-based, CSV header not counted)
+ */
+public class CustomerImportResult {
+    
+    private int index;
+    private String email;
+    private String error;
+    
+    // Default constructor
+    public CustomerImportResult() {}
+    
+    // Constructor with all fields
+    public CustomerImportResult(int index, String email, String error) {
+        this.index = index;
+        this.email = email;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
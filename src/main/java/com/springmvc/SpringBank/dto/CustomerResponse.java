@@ -1,5 +1,7 @@
 package com.springmvc.SpringBank.dto;
 
+import com.springmvc.SpringBank.entity.Customer;
+
 import java.time.LocalDateTime;
 
 public class CustomerResponse {
@@ -21,6 +23,19 @@ public class CustomerResponse {
         this.createdDate = createdDate;
     }
     
+    /**
+     * Static factory method to create CustomerResponse from Customer entity
+     */
+    public static CustomerResponse from(Customer customer) {
+        return new CustomerResponse(
+            customer.getId(),
+            customer.getName(),
+            customer.getEmail(),
+            customer.getPhone(),
+            customer.getCreatedDate()
+        );
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
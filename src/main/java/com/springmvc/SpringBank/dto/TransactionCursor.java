@@ -0,0 +1,64 @@
+package com.springmvc.SpringBank.dto;
+
+import com.springmvc.SpringBank.entity.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in an account's transaction history
+ * Points at the last transaction of a page; the next page starts right after it in
+ * (transactionDate DESC, id DESC) order. Clients only see the opaque encoded token.
+ */
+public class TransactionCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime transactionDate;
+    private final Long id;
+    
+    public TransactionCursor(LocalDateTime transactionDate, Long id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+    
+    /**
+     * Static factory method for the position right after the given transaction
+     */
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getTransactionDate(), transaction.getId());
+    }
+    
+    /**
+     * Decode a token produced by {@link #encode()}
+     * 
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            
+            return new TransactionCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+    
+    public String encode() {
+        String raw = transactionDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    
+    public Long getId() { return id; }
+}
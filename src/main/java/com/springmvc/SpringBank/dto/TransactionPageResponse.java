@@ -0,0 +1,40 @@
+package com.springmvc.SpringBank.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of transaction history
+ * nextCursor is null on the last page; otherwise pass it back to fetch the next page
+ */
+public class TransactionPageResponse {
+    
+    private List<TransactionResponse> transactions;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+    
+    // Default constructor
+    public TransactionPageResponse() {}
+    
+    // Constructor with all fields
+    public TransactionPageResponse(List<TransactionResponse> transactions, int size, 
+                                   boolean hasMore, String nextCursor) {
+        this.transactions = transactions;
+        this.size = size;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<TransactionResponse> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionResponse> transactions) { this.transactions = transactions; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
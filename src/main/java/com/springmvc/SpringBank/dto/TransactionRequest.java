@@ -1,8 +1,10 @@
 package com.springmvc.SpringBank.dto;
 
+import com.springmvc.SpringBank.entity.Transaction;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 
@@ -19,6 +21,7 @@ public class TransactionRequest {
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
     private BigDecimal amount;
     
+    @Size(max = Transaction.MAX_DESCRIPTION_LENGTH, message = "Description must not exceed 255 characters")
     private String description;
     
     // Default constructor
@@ -0,0 +1,84 @@
+package com.springmvc.SpringBank.dto;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for account-to-account transfer requests
+ */
+public class TransferRequest {
+    
+    @NotBlank(message = "Source account number is required")
+    private String fromAccountNumber;
+    
+    @NotBlank(message = "Destination account number is required")
+    private String toAccountNumber;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+    
+    // Leaves room for the "Transfer to/from <account>: " prefix each leg adds
+    @Size(max = Transaction.MAX_TRANSFER_DESCRIPTION_LENGTH, message = "Description must not exceed 219 characters")
+    private String description;
+    
+    // Default constructor
+    public TransferRequest() {}
+    
+    // Constructor
+    public TransferRequest(String fromAccountNumber, String toAccountNumber, 
+                           BigDecimal amount, String description) {
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public String getFromAccountNumber() { 
+        return fromAccountNumber; 
+    }
+    
+    public void setFromAccountNumber(String fromAccountNumber) { 
+        this.fromAccountNumber = fromAccountNumber; 
+    }
+    
+    public String getToAccountNumber() { 
+        return toAccountNumber; 
+    }
+    
+    public void setToAccountNumber(String toAccountNumber) { 
+        this.toAccountNumber = toAccountNumber; 
+    }
+    
+    public BigDecimal getAmount() { 
+        return amount; 
+    }
+    
+    public void setAmount(BigDecimal amount) { 
+        this.amount = amount; 
+    }
+    
+    public String getDescription() { 
+        return description; 
+    }
+    
+    public void setDescription(String description) { 
+        this.description = description; 
+    }
+    
+    @Override
+    public String toString() {
+        return "TransferRequest{" +
+                "fromAccountNumber='" + fromAccountNumber + '\'' +
+                ", toAccountNumber='" + toAccountNumber + '\'' +
+                ", amount=" + amount +
+                ", description='" + description + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.springmvc.SpringBank.dto;
+
+import com.springmvc.SpringBank.entity.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for transfer responses
+ * Carries both legs written for the transfer: the debit on the source account
+ * and the credit on the destination account
+ */
+public class TransferResponse {
+    
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private TransactionResponse debit;
+    private TransactionResponse credit;
+    
+    // Default constructor
+    public TransferResponse() {}
+    
+    // Constructor with all fields
+    public TransferResponse(String fromAccountNumber, String toAccountNumber, BigDecimal amount, 
+                            TransactionResponse debit, TransactionResponse credit) {
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.debit = debit;
+        this.credit = credit;
+    }
+    
+    /**
+     * Static factory method to create TransferResponse from the two transfer legs
+     */
+    public static TransferResponse from(Transaction debit, Transaction credit) {
+        return new TransferResponse(
+            debit.getAccountNumber(),
+            credit.getAccountNumber(),
+            debit.getAmount(),
+            TransactionResponse.from(debit),
+            TransactionResponse.from(credit)
+        );
+    }
+    
+    // Getters and Setters
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    public void setFromAccountNumber(String fromAccountNumber) { this.fromAccountNumber = fromAccountNumber; }
+    
+    public String getToAccountNumber() { return toAccountNumber; }
+    public void setToAccountNumber(String toAccountNumber) { this.toAccountNumber = toAccountNumber; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public TransactionResponse getDebit() { return debit; }
+    public void setDebit(TransactionResponse debit) { this.debit = debit; }
+    
+    public TransactionResponse getCredit() { return credit; }
+    public void setCredit(TransactionResponse credit) { this.credit = credit; }
+}
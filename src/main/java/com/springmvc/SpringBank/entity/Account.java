@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 import com.springmvc.SpringBank.enums.AccountType;
 import com.springmvc.SpringBank.enums.AccountStatus;
 
@@ -14,9 +16,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+    // Per-customer listings, with or without the ACTIVE status filter
+    @Index(name = "idx_accounts_customer_status", columnList = "customer_id, status")
+})
 public class Account {
     
+    /**
+     * Largest balance the balance column (precision 15, scale 2) holds
+     */
+    public static final BigDecimal MAX_BALANCE = new BigDecimal("9999999999999.99");
+    
     @Id
     @Column(name = "account_number", length = 20)
     private String accountNumber;
@@ -25,8 +35,10 @@ public class Account {
     @Column(name = "customer_id", nullable = false)
     private Long customerId;
     
+    // Enums are stored as plain VARCHAR (not native ENUM types) to match the migrated schema
     @NotNull(message = "Account type is required")
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "account_type", nullable = false, length = 20)
     private AccountType accountType;
     
@@ -35,6 +47,7 @@ public class Account {
     private BigDecimal balance = BigDecimal.ZERO;
     
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(length = 10)
     private AccountStatus status = AccountStatus.ACTIVE;
     
@@ -46,6 +59,17 @@ public class Account {
     @Column(name = "updated_date")
     private LocalDateTime updatedDate;
     
+    // Detects stale entity writers such as closeAccount. Balances are never written through
+    // the entity: the guarded balance-update statements apply deltas in place and bump this
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
+    // Transactions posted to this account, maintained by the balance-update statements.
+    // Those bump the version, so a stale Account instance cannot overwrite it
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", insertable = false, updatable = false)
     private Customer customer;
@@ -84,6 +108,12 @@ public class Account {
     public LocalDateTime getUpdatedDate() { return updatedDate; }
     public void setUpdatedDate(LocalDateTime updatedDate) { this.updatedDate = updatedDate; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    
     public Customer getCustomer() { return customer; }
     public void setCustomer(Customer customer) { this.customer = customer; }
     
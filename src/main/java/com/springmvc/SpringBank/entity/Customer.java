@@ -12,11 +12,26 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+    // Customers created since a point in time (search index catch-up)
+    @Index(name = "idx_customers_created_date", columnList = "created_date")
+})
 public class Customer {
     
+    /**
+     * Ids reserved per sequence round trip, so bulk onboarding can batch inserts
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    /**
+     * Rows ('customers', 0..COUNTER_SLOTS-1) of the striped customer counter in bank_counters
+     */
+    public static final int COUNTER_SLOTS = 16;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", 
+                       allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Customer name is required")
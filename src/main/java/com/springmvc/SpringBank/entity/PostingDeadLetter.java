@@ -0,0 +1,122 @@
+package com.springmvc.SpringBank.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import com.springmvc.SpringBank.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An acknowledged posting that could not be persisted, kept for manual repair
+ * Written by PostingBatchWriter when a posting still fails after being retried on its own.
+ * Its amount was never applied to the account balance.
+ */
+@Entity
+@Table(name = "posting_dead_letters")
+public class PostingDeadLetter {
+    
+    public static final String JOURNAL = "JOURNAL";
+    public static final String LEDGER = "LEDGER";
+    
+    public static final int MAX_FIELD_LENGTH = 65535;
+    public static final int MAX_FAILURE_LENGTH = 1000;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posting_dead_letters_seq")
+    @SequenceGenerator(name = "posting_dead_letters_seq", sequenceName = "posting_dead_letters_seq", 
+                       allocationSize = 1)
+    private Long id;
+    
+    // JOURNAL or LEDGER: the posting engine that acknowledged the posting
+    @Column(nullable = false, length = 10)
+    private String source;
+    
+    @Column(name = "account_number", nullable = false, length = MAX_FIELD_LENGTH)
+    private String accountNumber;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+    
+    @Column(precision = 38, scale = 2, nullable = false)
+    private BigDecimal amount;
+    
+    @Column(name = "balance_after", precision = 38, scale = 2)
+    private BigDecimal balanceAfter;
+    
+    @Column(length = MAX_FIELD_LENGTH)
+    private String description;
+    
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDateTime transactionDate;
+    
+    @Column(name = "journal_sequence")
+    private Long journalSequence;
+    
+    @Column(name = "idempotency_key", length = MAX_FIELD_LENGTH)
+    private String idempotencyKey;
+    
+    // Message of the exception that made the posting fail, truncated to fit
+    @Column(nullable = false, length = MAX_FAILURE_LENGTH)
+    private String failure;
+    
+    @Column(name = "dead_lettered_at", nullable = false)
+    private LocalDateTime deadLetteredAt;
+    
+    // Constructors
+    public PostingDeadLetter() {}
+    
+    public PostingDeadLetter(Transaction posting, String source, String failure) {
+        this.source = source;
+        this.accountNumber = posting.getAccountNumber();
+        this.transactionType = posting.getTransactionType();
+        this.amount = posting.getAmount();
+        this.balanceAfter = posting.getBalanceAfter();
+        this.description = posting.getDescription();
+        this.transactionDate = posting.getTransactionDate();
+        this.journalSequence = posting.getJournalSequence();
+        this.idempotencyKey = posting.getIdempotencyKey();
+        this.failure = failure.length() <= MAX_FAILURE_LENGTH ? failure : failure.substring(0, MAX_FAILURE_LENGTH);
+        this.deadLetteredAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) { this.balanceAfter = balanceAfter; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+    
+    public Long getJournalSequence() { return journalSequence; }
+    public void setJournalSequence(Long journalSequence) { this.journalSequence = journalSequence; }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    
+    public String getFailure() { return failure; }
+    public void setFailure(String failure) { this.failure = failure; }
+    
+    public LocalDateTime getDeadLetteredAt() { return deadLetteredAt; }
+    public void setDeadLetteredAt(LocalDateTime deadLetteredAt) { this.deadLetteredAt = deadLetteredAt; }
+}
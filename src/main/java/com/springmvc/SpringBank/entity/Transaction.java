@@ -3,18 +3,45 @@ package com.springmvc.SpringBank.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import com.springmvc.SpringBank.enums.TransactionType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    // History reads, date ranges, recent/top-N, counts and keyset paging all filter on the
+    // account and order by (transaction_date, id), so they are served by one index range scan
+    @Index(name = "idx_transactions_account_date", columnList = "account_number, transaction_date, id")
+})
 public class Transaction {
     
+    /**
+     * Ids reserved per sequence round trip
+     * IDENTITY would force an immediate insert per row and disable JDBC batching,
+     * so ids come from a pooled sequence instead
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    
+    /**
+     * Length of the description column
+     */
+    public static final int MAX_DESCRIPTION_LENGTH = 255;
+    
+    /**
+     * Longest client description a transfer accepts: each leg prefixes it with
+     * "Transfer from <20-char account number>: " (36 characters)
+     */
+    public static final int MAX_TRANSFER_DESCRIPTION_LENGTH = MAX_DESCRIPTION_LENGTH - 36;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", 
+                       allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotNull
@@ -23,7 +50,8 @@ public class Transaction {
     
     @NotNull
     @Enumerated(EnumType.STRING)
-    @Column(name = "transaction_type", nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "transaction_type", nullable = false, length = 20)
     private TransactionType transactionType;
     
     @DecimalMin(value = "0.01")
@@ -33,13 +61,26 @@ public class Transaction {
     @Column(name = "balance_after", precision = 15, scale = 2)
     private BigDecimal balanceAfter;
     
-    @Column(length = 255)
+    @Column(length = MAX_DESCRIPTION_LENGTH)
     private String description;
     
-    @CreationTimestamp
     @Column(name = "transaction_date", nullable = false, updatable = false)
     private LocalDateTime transactionDate;
     
+    /**
+     * Sequence of the posting journal record this row was drained from (journal mode only)
+     * Unique, so replaying the journal after a restart can never insert a posting twice
+     */
+    @Column(name = "journal_sequence", unique = true)
+    private Long journalSequence;
+    
+    /**
+     * Client-supplied Idempotency-Key of the request that created this posting, if any
+     * Unique, so a retried request can never be posted twice
+     */
+    @Column(name = "idempotency_key", length = MAX_IDEMPOTENCY_KEY_LENGTH, unique = true)
+    private String idempotencyKey;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_number", insertable = false, updatable = false)
     private Account account;
@@ -78,6 +119,20 @@ public class Transaction {
     public LocalDateTime getTransactionDate() { return transactionDate; }
     public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
     
+    public Long getJournalSequence() { return journalSequence; }
+    public void setJournalSequence(Long journalSequence) { this.journalSequence = journalSequence; }
+    
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    
     public Account getAccount() { return account; }
     public void setAccount(Account account) { this.account = account; }
+    
+    // Stamped at insert unless already set: journaled postings keep the time they were accepted
+    @PrePersist
+    protected void onCreate() {
+        if (transactionDate == null) {
+            transactionDate = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.springmvc.SpringBank.exception;
+
+/**
+ * Exception thrown when a posting or status change targets an account that is not ACTIVE
+ * Extends IllegalStateException, so it is still handled as a business rule violation (400)
+ */
+public class AccountNotActiveException extends IllegalStateException {
+    
+    public AccountNotActiveException(String message) {
+        super(message);
+    }
+    
+    public AccountNotActiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -80,6 +80,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    /**
+     * Handle Posting Engine Unavailable Exception (journal or ledger cannot take postings)
+     */
+    @ExceptionHandler(PostingEngineUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handlePostingEngineUnavailable(
+            PostingEngineUnavailableException ex, WebRequest request) {
+        
+        logger.error("Posting engine unavailable: ", ex);
+        
+        Map<String, Object> errorResponse = createErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
     /**
      * Handle Validation Exceptions (Bean Validation)
      */
@@ -0,0 +1,18 @@
+package com.springmvc.SpringBank.exception;
+
+/**
+ * Exception thrown when the posting journal or ledger engine cannot take a posting right now
+ * (journal full or not draining, engine stopped or not persisting)
+ * An infrastructure failure, not a problem with the request: handled as 503 and counted as
+ * an error rather than a rejection
+ */
+public class PostingEngineUnavailableException extends RuntimeException {
+    
+    public PostingEngineUnavailableException(String message) {
+        super(message);
+    }
+    
+    public PostingEngineUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
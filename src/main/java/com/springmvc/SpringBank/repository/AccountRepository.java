@@ -1,12 +1,19 @@
 package com.springmvc.SpringBank.repository;
 
+import com.springmvc.SpringBank.dto.AccountResponse;
 import com.springmvc.SpringBank.entity.Account;
 import com.springmvc.SpringBank.enums.AccountStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +33,76 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     @Query("SELECT a FROM Account a WHERE a.customerId = :customerId AND a.status = 'ACTIVE'")
     List<Account> findActiveAccountsByCustomerId(@Param("customerId") Long customerId);
     
+    // Find account and lock its row until the surrounding transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+    
     // Check if account number exists
     boolean existsByAccountNumber(String accountNumber);
     
-    // REMOVED PROBLEMATIC JOIN FETCH - using separate queries instead
-    // The original query caused issues with the read-only relationship
+    // Highest numbers in the AccountNumberGenerator format (20 characters; the older
+    // timestamp-based numbers have 19), newest first, read from the primary key index
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.accountNumber LIKE 'ACC%' " +
+           "AND LENGTH(a.accountNumber) = 20 ORDER BY a.accountNumber DESC")
+    List<String> findHighestGeneratedAccountNumbers(Pageable pageable);
+    
+    // Apply a balance delta for a number of postings in one statement; guards make it match
+    // only ACTIVE accounts whose balance stays non-negative, so 0 rows updated means the
+    // postings were rejected. Counts the postings in transaction_count in the same update.
+    // Bumps the version so entity-based writers (e.g. closeAccount) see the change.
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, " +
+           "a.transactionCount = a.transactionCount + :postings, a.version = a.version + 1, " +
+           "a.updatedDate = :now " +
+           "WHERE a.accountNumber = :accountNumber AND a.status = 'ACTIVE' " +
+           "AND a.balance + :delta >= 0")
+    int applyBalanceDelta(@Param("accountNumber") String accountNumber, 
+                          @Param("delta") BigDecimal delta, 
+                          @Param("postings") long postings,
+                          @Param("now") LocalDateTime now);
+    
+    // Apply the net delta and count of postings acknowledged by a PostingEngine (journal or
+    // ledger). Unguarded on purpose: the postings were validated when they were acknowledged,
+    // so they must be applied as they are. Only sound while that engine is the single writer
+    // (springbank.posting.single-writer); the engines refuse to start otherwise
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, " +
+           "a.transactionCount = a.transactionCount + :postings, a.version = a.version + 1, " +
+           "a.updatedDate = :now WHERE a.accountNumber = :accountNumber")
+    int applyAcknowledgedDelta(@Param("accountNumber") String accountNumber, 
+                               @Param("delta") BigDecimal delta, 
+                               @Param("postings") long postings,
+                               @Param("now") LocalDateTime now);
+    
+    // Overwrite the maintained transaction count (reconciliation only; the caller holds the row lock)
+    @Modifying
+    @Query("UPDATE Account a SET a.transactionCount = :transactionCount, a.version = a.version + 1 " +
+           "WHERE a.accountNumber = :accountNumber")
+    int setTransactionCount(@Param("accountNumber") String accountNumber, 
+                            @Param("transactionCount") long transactionCount);
+    
+    // Accounts whose maintained transaction count disagrees with their transaction rows.
+    // A full scan meant for the reconciliation job; postings racing with it can show up
+    // here, so each hit must be re-checked under the row lock
+    @Query("SELECT a.accountNumber FROM Account a LEFT JOIN Transaction t ON t.accountNumber = a.accountNumber " +
+           "GROUP BY a.accountNumber, a.transactionCount HAVING a.transactionCount <> COUNT(t.id)")
+    List<String> findAccountsWithTransactionCountMismatch();
+    
+    // Read just the maintained transaction count: a primary-key lookup, always current
+    @Query("SELECT a.transactionCount FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findTransactionCountByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    // Read just the balance, without hydrating the account entity
+    @Query("SELECT a.balance FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<BigDecimal> findBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    // Account inquiry view joined with the customer name in one round trip.
+    // Uses an entity join on customerId rather than the read-only relationship
+    // (the old JOIN FETCH on it was removed), and hydrates no entities.
+    @Query("SELECT new com.springmvc.SpringBank.dto.AccountResponse(" +
+           "a.accountNumber, a.customerId, c.name, a.accountType, a.balance, a.status, a.createdDate) " +
+           "FROM Account a JOIN Customer c ON c.id = a.customerId " +
+           "WHERE a.accountNumber = :accountNumber")
+    Optional<AccountResponse> findAccountResponseByAccountNumber(@Param("accountNumber") String accountNumber);
 }
\ No newline at end of file
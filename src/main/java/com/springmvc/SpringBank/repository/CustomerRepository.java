@@ -1,13 +1,22 @@
 package com.springmvc.SpringBank.repository;
 
 import com.springmvc.SpringBank.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Customer entity
@@ -36,6 +45,30 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     boolean existsByEmail(String email);
     
+    /**
+     * Which of the given emails are already registered
+     * One IN query per bulk import chunk instead of an existsByEmail call per row
+     */
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    /**
+     * Add to one slot of the striped customer counter
+     * Joins the caller's transaction, so the count commits or rolls back with the customers
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE bank_counters SET counter_value = counter_value + :delta " +
+                   "WHERE counter_name = 'customers' AND slot = :slot", nativeQuery = true)
+    int addToCustomerCounter(@Param("slot") int slot, @Param("delta") long delta);
+    
+    /**
+     * Maintained number of customers: the sum of the counter slots, 16 rows instead of COUNT(*)
+     */
+    @Query(value = "SELECT CAST(COALESCE(SUM(counter_value), 0) AS BIGINT) FROM bank_counters WHERE counter_name = 'customers'", 
+           nativeQuery = true)
+    long sumCustomerCounter();
+    
     /**
      * CRITICAL MISSING METHOD - Find customers by name containing search term (case-insensitive)
      * Spring Data JPA will auto-implement this method based on method name
@@ -50,4 +83,66 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * Generated SQL: SELECT * FROM customers WHERE UPPER(name) LIKE UPPER('%searchTerm%')
      */
     List<Customer> findByNameContainingIgnoreCase(String name);
+    
+    /**
+     * One page of the LIKE search over name, email and phone, used while the in-memory search
+     * index is not available. Ranked the way the index ranks: exact name, name prefix, name word
+     * prefix, name substring, email prefix, email substring, then phone; ties in id order.
+     * 
+     * Patterns are lower case with LIKE wildcards escaped with '!'; see
+     * CustomerService.findCustomersByName for how they are built.
+     */
+    @Query("""
+           SELECT c FROM Customer c
+           WHERE LOWER(c.name) LIKE :nameMatch ESCAPE '!'
+              OR LOWER(c.name) LIKE :prefix ESCAPE '!'
+              OR LOWER(c.email) LIKE :fieldMatch ESCAPE '!'
+              OR LOWER(c.phone) LIKE :fieldMatch ESCAPE '!'
+           ORDER BY CASE
+               WHEN LOWER(c.name) = :term THEN 0
+               WHEN LOWER(c.name) LIKE :prefix ESCAPE '!' THEN 1
+               WHEN LOWER(c.name) LIKE :wordPrefix ESCAPE '!' THEN 2
+               WHEN LOWER(c.name) LIKE :nameMatch ESCAPE '!' THEN 3
+               WHEN LOWER(c.email) LIKE :prefix ESCAPE '!' THEN 4
+               WHEN LOWER(c.email) LIKE :fieldMatch ESCAPE '!' THEN 5
+               ELSE 6 END, c.id
+           """)
+    List<Customer> searchRanked(@Param("term") String term,
+                                @Param("prefix") String prefix,
+                                @Param("wordPrefix") String wordPrefix,
+                                @Param("nameMatch") String nameMatch,
+                                @Param("fieldMatch") String fieldMatch,
+                                Pageable pageable);
+    
+    /**
+     * Keyset page: customers with an id above afterId, in id order
+     * Each page is an index range scan on the primary key, however deep into the table it starts
+     */
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    
+    /**
+     * Keyset page of the customers created since a point in time, in id order
+     * Used by the search index catch-up; the window is served by idx_customers_created_date
+     */
+    List<Customer> findByCreatedDateGreaterThanEqualAndIdGreaterThanOrderByIdAsc(LocalDateTime since, Long afterId, 
+                                                                            Pageable pageable);
+    
+    /**
+     * Offset page of customers in id order
+     * Returns a List rather than a Page, so no COUNT(*) query is issued alongside it
+     */
+    List<Customer> findAllByOrderByIdAsc(Pageable pageable);
+    
+    /**
+     * Stream every customer in id order for the streamed listing
+     * Rows are fetched from the cursor in chunks and loaded read-only, so no snapshot is kept.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Customer c ORDER BY c.id")
+    Stream<Customer> streamAllByOrderById();
 }
\ No newline at end of file
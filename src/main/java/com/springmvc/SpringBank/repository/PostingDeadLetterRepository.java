@@ -0,0 +1,20 @@
+package com.springmvc.SpringBank.repository;
+
+import com.springmvc.SpringBank.entity.PostingDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for postings the posting engines could not persist
+ */
+@Repository
+public interface PostingDeadLetterRepository extends JpaRepository<PostingDeadLetter, Long> {
+    
+    /**
+     * Highest journal sequence dead-lettered so far (0 when none)
+     * Journal replay must skip these as well as the drained rows in transactions
+     */
+    @Query("SELECT COALESCE(MAX(d.journalSequence), 0) FROM PostingDeadLetter d")
+    long findMaxJournalSequence();
+}
@@ -2,13 +2,19 @@ package com.springmvc.SpringBank.repository;
 
 import com.springmvc.SpringBank.entity.Transaction;
 import com.springmvc.SpringBank.enums.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Transaction entity
@@ -18,10 +24,42 @@ import java.util.List;
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
     /**
-     * Find all transactions for a specific account, ordered by transaction date (newest first)
-     * Used for transaction history inquiries
+     * First page of an account's history in keyset order (newest first, id breaks ties)
+     * Page size comes from the Pageable; no count query is issued
      */
-    List<Transaction> findByAccountNumberOrderByTransactionDateDesc(String accountNumber);
+    @Query("SELECT t FROM Transaction t WHERE t.accountNumber = :accountNumber " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findHistoryFirstPage(
+        @Param("accountNumber") String accountNumber, 
+        Pageable pageable);
+    
+    /**
+     * Next page of an account's history, starting right after the (date, id) cursor
+     * Seeks directly to the cursor instead of skipping rows with OFFSET
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.accountNumber = :accountNumber " +
+           "AND (t.transactionDate < :cursorDate " +
+           "OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findHistoryPageAfter(
+        @Param("accountNumber") String accountNumber, 
+        @Param("cursorDate") LocalDateTime cursorDate, 
+        @Param("cursorId") Long cursorId, 
+        Pageable pageable);
+    
+    /**
+     * Stream an account's full history (newest first) for statement export
+     * Rows are fetched from the cursor in chunks and loaded read-only, so no snapshot is kept.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.accountNumber = :accountNumber " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<Transaction> streamByAccountNumber(@Param("accountNumber") String accountNumber);
     
     /**
      * Find transactions by transaction type
@@ -59,6 +97,19 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      */
     long countByAccountNumber(String accountNumber);
     
+    /**
+     * Highest posting journal sequence already drained into this table (0 when none)
+     * Used to skip already-persisted records when the journal is replayed at startup
+     */
+    @Query("SELECT COALESCE(MAX(t.journalSequence), 0) FROM Transaction t")
+    long findMaxJournalSequence();
+    
+    /**
+     * Find the posting made with a given Idempotency-Key (unique index lookup)
+     * Used when a retried request is no longer in the in-memory idempotency index
+     */
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+    
     /**
      * Check if any transactions exist for an account
      * Useful before closing an account
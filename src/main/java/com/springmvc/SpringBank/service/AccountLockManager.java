@@ -0,0 +1,98 @@
+package com.springmvc.SpringBank.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process lock manager keyed by account number
+ * Serializes postings on the same account while unrelated accounts proceed in parallel
+ *
+ * Account numbers are hashed onto a fixed number of stripes, so memory stays constant
+ * no matter how many accounts exist. Two accounts may share a stripe, which only costs
+ * some extra serialization, never correctness.
+ */
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+
+    public AccountLockManager(@Value("${springbank.posting.lock-stripes:1024}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Lock stripe count must be greater than zero");
+        }
+
+        // Round up to a power of two so the stripe index is a cheap mask
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run the given action while holding the lock for the account
+     * The lock is held for the whole action, including any transaction commit inside it
+     */
+    public <T> T withLock(String accountNumber, Supplier<T> action) {
+        ReentrantLock lock = lockFor(accountNumber);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run the given action while holding the locks for two accounts (transfers)
+     * Stripes are always taken in ascending stripe order, so two threads locking the same
+     * pair from opposite directions can never deadlock; a shared stripe is locked once
+     */
+    public <T> T withLocks(String firstAccountNumber, String secondAccountNumber, Supplier<T> action) {
+        int first = stripeIndex(firstAccountNumber);
+        int second = stripeIndex(secondAccountNumber);
+
+        if (first == second) {
+            return withLock(firstAccountNumber, action);
+        }
+
+        ReentrantLock lower = stripes[Math.min(first, second)];
+        ReentrantLock upper = stripes[Math.max(first, second)];
+        lower.lock();
+        try {
+            upper.lock();
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    /**
+     * Number of stripes backing this manager
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    int stripeIndex(String accountNumber) {
+        int h = accountNumber.hashCode();
+        // Spread high bits downwards, same as HashMap, so similar account numbers do not cluster
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    private ReentrantLock lockFor(String accountNumber) {
+        return stripes[stripeIndex(accountNumber)];
+    }
+}
@@ -0,0 +1,148 @@
+package com.springmvc.SpringBank.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-aware generator of unique account numbers, with no database probe
+ *
+ * Format: "ACC" + 16 digits + a Luhn check digit (20 characters, the account_number column).
+ * The 16 digits are a zero-padded 53-bit id:
+ *
+ *   40 bits milliseconds since 2025-01-01 UTC | 6 bits node id | 7 bits sequence
+ *
+ * Each instance must run with its own node id (springbank.account-number.node-id, 0-63), so
+ * instances can never produce the same number. Within an instance, time and sequence are kept
+ * in one AtomicLong and advanced with a CAS, so numbers are strictly increasing. When more
+ * than 128 numbers are needed in one millisecond, or the clock steps back, the sequence
+ * carries into the next millisecond instead of waiting; the generator then runs briefly ahead
+ * of the clock and falls back in step once the burst is over. At startup the generator is
+ * advanced past the highest number already stored (see advancePast), so a clock that is
+ * behind where it was before a restart cannot repeat numbers either.
+ */
+@Component
+public class AccountNumberGenerator {
+
+    public static final String PREFIX = "ACC";
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 6;
+    private static final int SEQUENCE_BITS = 7;
+    private static final int TIMESTAMP_BITS = 40;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    private static final int ID_DIGITS = 16;
+    private static final int LENGTH = PREFIX.length() + ID_DIGITS + 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // (milliseconds since the epoch << SEQUENCE_BITS) | sequence of the last number handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public AccountNumberGenerator(@Value("${springbank.account-number.node-id:0}") int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    AccountNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Account number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Next account number; never repeats for this node id
+     */
+    public String next() {
+        long timeAndSequence = nextTimeAndSequence();
+        long timestamp = timeAndSequence >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Account number timestamp range exhausted");
+        }
+        long sequence = timeAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        long id = (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+        return format(id);
+    }
+
+    /**
+     * Make every later number sort after the given one, whichever node id produced it
+     * Moves to the end of that number's millisecond: a number from another node says nothing
+     * about the sequences this node used in the same millisecond.
+     */
+    public void advancePast(String accountNumber) {
+        if (!isValid(accountNumber)) {
+            throw new IllegalArgumentException("Not a generated account number: " + accountNumber);
+        }
+        long id = Long.parseLong(accountNumber, PREFIX.length(), PREFIX.length() + ID_DIGITS, 10);
+        long timestamp = id >>> (NODE_BITS + SEQUENCE_BITS);
+        state.accumulateAndGet(((timestamp + 1) << SEQUENCE_BITS) - 1, Math::max);
+    }
+
+    /**
+     * Check the format and check digit of an account number made by this generator
+     */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH || !accountNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        int expected = checkDigit(accountNumber.toCharArray(), PREFIX.length(), LENGTH - 1);
+        return accountNumber.charAt(LENGTH - 1) - '0' == expected;
+    }
+
+    private long nextTimeAndSequence() {
+        while (true) {
+            long last = state.get();
+            long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // A new millisecond restarts the sequence; otherwise count on from the last number
+            long next = now > last ? now : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static String format(long id) {
+        char[] chars = new char[LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = PREFIX.length() + ID_DIGITS - 1; i >= PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + id % 10);
+            id /= 10;
+        }
+        chars[LENGTH - 1] = (char) ('0' + checkDigit(chars, PREFIX.length(), LENGTH - 1));
+        return new String(chars);
+    }
+
+    /**
+     * Luhn check digit of the digits in [from, to)
+     */
+    private static int checkDigit(char[] digits, int from, int to) {
+        int sum = 0;
+        boolean doubled = true; // the rightmost payload digit sits next to the check digit
+        for (int i = to - 1; i >= from; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -1,22 +1,31 @@
 package com.springmvc.SpringBank.service;
 
+import com.springmvc.SpringBank.config.CacheConfig;
+import com.springmvc.SpringBank.dto.AccountResponse;
 import com.springmvc.SpringBank.entity.Account;
 import com.springmvc.SpringBank.entity.Customer;
 import com.springmvc.SpringBank.enums.AccountStatus;
 import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.exception.AccountNotActiveException;
 import com.springmvc.SpringBank.exception.AccountNotFoundException;
-import com.springmvc.SpringBank.exception.CustomerNotFoundException;
+import com.springmvc.SpringBank.exception.InsufficientFundsException;
 import com.springmvc.SpringBank.repository.AccountRepository;
-import com.springmvc.SpringBank.repository.CustomerRepository;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
 
 @Service
 @Transactional
@@ -28,66 +37,153 @@ public class AccountService {
     private AccountRepository accountRepository;
     
     @Autowired
-    private CustomerRepository customerRepository;
+    private CustomerService customerService;
+    
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+    
+    @Autowired
+    private BankingMetrics bankingMetrics;
+    
+    @Autowired
+    private AccountLockManager accountLockManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    // Present only in journal or ledger mode (springbank.journal.enabled / springbank.ledger.enabled)
+    @Autowired(required = false)
+    private PostingEngine postingEngine;
+    
+    /**
+     * Continue account numbers after the highest one already stored, so the generator cannot
+     * repeat a number handed out before a restart even if the clock is now behind
+     */
+    @PostConstruct
+    void seedAccountNumberGenerator() {
+        accountRepository.findHighestGeneratedAccountNumbers(PageRequest.of(0, 16)).stream()
+            .filter(AccountNumberGenerator::isValid)
+            .findFirst()
+            .ifPresent(accountNumber -> {
+                accountNumberGenerator.advancePast(accountNumber);
+                logger.info("Account numbers continue after {}", accountNumber);
+            });
+    }
     
     /**
      * Create a new account for a customer
      * Assessment Requirement: "Create Account: Accepts account type, and creates an account 
      * with an auto-generated number. Account status should be set as "Active"."
+     * 
+     * The insert runs in its own transaction so that, should the generated number already be
+     * taken (e.g. two instances sharing a node id), it can be retried once with the next number.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Account createAccount(Long customerId, AccountType accountType) {
         logger.info("Creating account for customer ID: {}, type: {}", customerId, accountType);
         
-        // Validate customer exists
-        Customer customer = customerRepository.findById(customerId)
-            .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
+        // Validate customer exists (served from the customer cache)
+        Customer customer = customerService.findCustomerById(customerId);
         
+        Account savedAccount;
+        try {
+            savedAccount = insertAccount(customerId, accountType);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Generated account number already exists; retrying with the next one: {}", e.getMessage());
+            savedAccount = insertAccount(customerId, accountType);
+        }
+        
+        logger.info("Account created successfully: {} for customer: {}", 
+                   savedAccount.getAccountNumber(), customer.getName());
+        return savedAccount;
+    }
+    
+    private Account insertAccount(Long customerId, AccountType accountType) {
         // Generate unique account number
-        String accountNumber = generateUniqueAccountNumber();
+        String accountNumber = accountNumberGenerator.next();
         
         // Create account with ACTIVE status (assessment requirement)
         Account account = new Account(accountNumber, customerId, accountType);
         account.setStatus(AccountStatus.ACTIVE); // Explicitly set as required
         
-        Account savedAccount = accountRepository.save(account);
-        
-        logger.info("Account created successfully: {} for customer: {}", accountNumber, customer.getName());
-        return savedAccount;
+        // Flushed inside the transaction, so a duplicate number surfaces here rather than at commit
+        return transactionTemplate.execute(status -> accountRepository.saveAndFlush(account));
     }
     
     /**
      * Find account by account number
      * Assessment Requirement: "Inquire Account: Accepts account number and returns the details 
      * of the account holder and the account status."
+     * 
+     * Served from the account cache when called through the proxy; callers get a shared,
+     * detached instance and must not modify it. Methods in this class that update the
+     * account call it directly, which bypasses the cache and loads a managed entity.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS, key = "#accountNumber")
     public Account findByAccountNumber(String accountNumber) {
-        logger.info("Finding account: {}", accountNumber);
+        logger.debug("Finding account: {}", accountNumber);
         
         Account account = accountRepository.findByAccountNumber(accountNumber)
             .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
         
-        logger.info("Account found: {} for customer ID: {}", accountNumber, account.getCustomerId());
+        logger.debug("Account found: {} for customer ID: {}", accountNumber, account.getCustomerId());
         return account;
     }
     
     /**
-     * REMOVED PROBLEMATIC METHOD - using simple findByAccountNumber instead
-     * The controller will handle getting customer details separately
+     * Find account and hold a row lock on it until the transaction ends
+     * Used when a running balance has to be computed from the current balance (batch posting)
+     * and when the balance must not change before the transaction commits (closing an account)
      */
+    public Account findByAccountNumberForUpdate(String accountNumber) {
+        logger.debug("Locking account: {}", accountNumber);
+        
+        return accountRepository.findByAccountNumberForUpdate(accountNumber)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+    }
+    
+    /**
+     * Account inquiry view: account fields plus the customer name in one query
+     * Built with a constructor projection, so no entities are loaded or managed
+     */
+    @Transactional(readOnly = true)
+    public AccountResponse findAccountResponse(String accountNumber) {
+        logger.debug("Finding account inquiry view: {}", accountNumber);
+        
+        return bankingMetrics.record(BankingMetrics.ACCOUNT_INQUIRY, 
+            () -> accountRepository.findAccountResponseByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber)));
+    }
     
     /**
      * Close an account
      * Assessment Requirement: "Close Account: Accepts account number and updates the status to "Closed"."
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#accountNumber")
     public Account closeAccount(String accountNumber) {
         logger.info("Closing account: {}", accountNumber);
         
-        Account account = findByAccountNumber(accountNumber);
+        // Same locking as postings, so the balance check cannot race a posting on this instance.
+        // In journal or ledger mode, pending acknowledged postings are persisted before the balance is checked
+        return accountLockManager.withLock(accountNumber, () -> {
+            if (postingEngine == null) {
+                return transactionTemplate.execute(status -> close(accountNumber));
+            }
+            return postingEngine.runDirect(
+                () -> transactionTemplate.execute(status -> close(accountNumber)), accountNumber);
+        });
+    }
+    
+    private Account close(String accountNumber) {
+        // Row lock until commit: a posting from another instance waits for it instead of moving
+        // the balance (and version) between this check and the save
+        Account account = findByAccountNumberForUpdate(accountNumber);
         
         // Business rule validations
         if (account.getStatus() == AccountStatus.CLOSED) {
-            throw new IllegalStateException("Account is already closed: " + accountNumber);
+            throw new AccountNotActiveException("Account is already closed: " + accountNumber);
         }
         
         if (account.getBalance().compareTo(BigDecimal.ZERO) > 0) {
@@ -119,14 +215,13 @@ public class AccountService {
      */
     @Transactional(readOnly = true)
     public List<Account> findAccountsByCustomerId(Long customerId) {
-        logger.info("Finding accounts for customer ID: {}", customerId);
+        logger.debug("Finding accounts for customer ID: {}", customerId);
         
-        // Validate customer exists
-        customerRepository.findById(customerId)
-            .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
+        // Validate customer exists (served from the customer cache)
+        customerService.findCustomerById(customerId);
         
         List<Account> accounts = accountRepository.findByCustomerId(customerId);
-        logger.info("Found {} accounts for customer ID: {}", accounts.size(), customerId);
+        logger.debug("Found {} accounts for customer ID: {}", accounts.size(), customerId);
         
         return accounts;
     }
@@ -136,56 +231,65 @@ public class AccountService {
      */
     @Transactional(readOnly = true)
     public List<Account> findActiveAccountsByCustomerId(Long customerId) {
-        logger.info("Finding active accounts for customer ID: {}", customerId);
+        logger.debug("Finding active accounts for customer ID: {}", customerId);
         
         List<Account> activeAccounts = accountRepository.findActiveAccountsByCustomerId(customerId);
-        logger.info("Found {} active accounts for customer ID: {}", activeAccounts.size(), customerId);
+        logger.debug("Found {} active accounts for customer ID: {}", activeAccounts.size(), customerId);
         
         return activeAccounts;
     }
     
     /**
-     * Update account balance - used by TransactionService
+     * Apply a signed delta to the balance atomically for a single posting - used by TransactionService
+     * 
+     * @return the balance after the delta was applied
      */
-    public Account updateBalance(String accountNumber, BigDecimal newBalance) {
-        logger.info("Updating balance for account: {} to {}", accountNumber, newBalance);
-        
-        Account account = findByAccountNumber(accountNumber);
-        
-        // Validate account is active
-        if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new IllegalStateException("Cannot update balance for non-active account: " + accountNumber);
-        }
-        
-        account.setBalance(newBalance);
-        Account savedAccount = accountRepository.save(account);
-        
-        logger.info("Balance updated successfully for account: {}", accountNumber);
-        return savedAccount;
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#accountNumber")
+    public BigDecimal applyBalanceDelta(String accountNumber, BigDecimal delta) {
+        return applyBalanceDelta(accountNumber, delta, 1);
     }
     
     /**
-     * Generate unique account number
-     * Format: ACC + timestamp + 3-digit random number
+     * Apply the net delta of a number of postings to the balance atomically
+     * Single guarded UPDATE that also adds the postings to the account's transaction count,
+     * so there is no read-modify-write window; the account is only loaded when the update
+     * is rejected, to report why
+     * 
+     * @return the balance after the delta was applied
      */
-    private String generateUniqueAccountNumber() {
-        String accountNumber;
-        int attempts = 0;
-        int maxAttempts = 10;
-        
-        do {
-            accountNumber = "ACC" + System.currentTimeMillis() + 
-                           String.format("%03d", new Random().nextInt(1000));
-            attempts++;
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS, key = "#accountNumber")
+    public BigDecimal applyBalanceDelta(String accountNumber, BigDecimal delta, int postings) {
+        logger.debug("Applying balance delta {} for {} postings to account: {}", delta, postings, accountNumber);
+        
+        int updated = accountRepository.applyBalanceDelta(accountNumber, delta, postings, LocalDateTime.now());
+        
+        if (updated == 0) {
+            // Throws AccountNotFoundException when the account does not exist
+            Account account = findByAccountNumber(accountNumber);
             
-            if (attempts > maxAttempts) {
-                logger.error("Failed to generate unique account number after {} attempts", maxAttempts);
-                throw new RuntimeException("Unable to generate unique account number");
+            if (account.getStatus() != AccountStatus.ACTIVE) {
+                throw new AccountNotActiveException("Cannot update balance for non-active account: " + accountNumber);
             }
             
-        } while (accountRepository.existsByAccountNumber(accountNumber));
+            logger.warn("Insufficient funds for withdrawal: Account: {} | Available: {} | Requested: {}", 
+                       accountNumber, account.getBalance(), delta.negate());
+            throw new InsufficientFundsException(
+                "Insufficient balance. Available: " + account.getBalance() + ", Requested: " + delta.negate()
+            );
+        }
         
-        logger.debug("Generated unique account number: {} in {} attempts", accountNumber, attempts);
-        return accountNumber;
+        // Same transaction holds the row lock taken by the update, so this is our own result
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+    }
+    
+    /**
+     * Read the maintained transaction count with a primary-key query, bypassing the
+     * account cache so the result is always current
+     */
+    @Transactional(readOnly = true)
+    public long getTransactionCount(String accountNumber) {
+        return accountRepository.findTransactionCountByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
     }
 }
\ No newline at end of file
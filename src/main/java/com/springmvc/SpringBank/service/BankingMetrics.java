@@ -0,0 +1,119 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.exception.AccountNotActiveException;
+import com.springmvc.SpringBank.exception.AccountNotFoundException;
+import com.springmvc.SpringBank.exception.CustomerNotFoundException;
+import com.springmvc.SpringBank.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation for banking operations
+ *
+ * - springbank.operations (timer): one per operation, tagged with the outcome
+ *   (success, rejected, error). Histogram buckets and SLO boundaries are configured
+ *   through management.metrics.distribution.* in application.properties
+ * - springbank.operations.rejected (counter): business rejections by operation and reason
+ * - springbank.postings.in.flight (gauge): postings currently waiting for or holding a lock
+ *
+ * Exposed through /actuator/metrics and /actuator/prometheus
+ */
+@Component
+public class BankingMetrics {
+
+    public static final String OPERATION_TIMER = "springbank.operations";
+    public static final String REJECTION_COUNTER = "springbank.operations.rejected";
+    public static final String IN_FLIGHT_GAUGE = "springbank.postings.in.flight";
+
+    // Operation tag values
+    public static final String DEPOSIT = "deposit";
+    public static final String WITHDRAW = "withdraw";
+    public static final String TRANSFER = "transfer";
+    public static final String BATCH = "batch";
+    public static final String ACCOUNT_INQUIRY = "account.inquiry";
+    public static final String HISTORY_READ = "history.read";
+    public static final String HISTORY_EXPORT = "history.export";
+    public static final String CUSTOMER_CREATE = "customer.create";
+    public static final String CUSTOMER_IMPORT = "customer.import";
+
+    // Rejection reason tag values
+    public static final String INSUFFICIENT_FUNDS = "insufficient_funds";
+    public static final String ACCOUNT_NOT_ACTIVE = "account_not_active";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID_REQUEST = "invalid_request";
+
+    private final MeterRegistry registry;
+
+    private final AtomicInteger inFlightPostings = new AtomicInteger();
+
+    public BankingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlightPostings, AtomicInteger::get)
+            .description("Postings currently in progress")
+            .register(registry);
+    }
+
+    /**
+     * Time a balance-changing operation and count it as in flight while it runs
+     */
+    public <T> T recordPosting(String operation, Supplier<T> posting) {
+        inFlightPostings.incrementAndGet();
+        try {
+            return record(operation, posting);
+        } finally {
+            inFlightPostings.decrementAndGet();
+        }
+    }
+
+    /**
+     * Time an operation; business exceptions are counted as rejections and rethrown
+     */
+    public <T> T record(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            String reason = rejectionReason(e);
+            if (reason != null) {
+                outcome = "rejected";
+                registry.counter(REJECTION_COUNTER, "operation", operation, "reason", reason).increment();
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(OPERATION_TIMER)
+                .description("Banking operation latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry));
+        }
+    }
+
+    /**
+     * Map an exception to a rejection reason, or null when it is an unexpected error
+     * Only AccountNotActiveException is a rejection among IllegalStateExceptions; any other
+     * (close rules), like PostingEngineUnavailableException, is counted as an error
+     */
+    static String rejectionReason(RuntimeException e) {
+        if (e instanceof InsufficientFundsException) {
+            return INSUFFICIENT_FUNDS;
+        }
+        if (e instanceof AccountNotFoundException || e instanceof CustomerNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (e instanceof AccountNotActiveException) {
+            return ACCOUNT_NOT_ACTIVE;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return INVALID_REQUEST;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.config.CacheConfig;
+import com.springmvc.SpringBank.entity.Account;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import com.springmvc.SpringBank.repository.CustomerRepository;
+import com.springmvc.SpringBank.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Verifies the maintained counters against the rows they count, and repairs drift
+ *
+ * Runs every springbank.counters.reconcile-interval. The per-account transaction counts are
+ * checked with one grouped scan; each account it flags is re-counted with its row locked,
+ * since every posting path updates that row in the transaction that inserts its transaction
+ * rows, and only corrected if it is still wrong. The customer counter is read before and
+ * after COUNT(*) and left alone when customers were created in between.
+ */
+@Service
+public class CounterReconciliationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciliationService.class);
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Scheduled(initialDelayString = "${springbank.counters.reconcile-interval:1h}", 
+               fixedDelayString = "${springbank.counters.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Counter reconciliation failed", e);
+        }
+    }
+    
+    /**
+     * Check every maintained counter once
+     * 
+     * @return number of counters that had drifted and were corrected
+     */
+    public int reconcile() {
+        long start = System.nanoTime();
+        
+        int corrected = reconcileTransactionCounts();
+        if (reconcileCustomerCount()) {
+            corrected++;
+        }
+        
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        if (corrected > 0) {
+            logger.warn("Counter reconciliation corrected {} counters in {} ms", corrected, elapsedMillis);
+        } else {
+            logger.info("Counter reconciliation found no drift in {} ms", elapsedMillis);
+        }
+        return corrected;
+    }
+    
+    private int reconcileTransactionCounts() {
+        List<String> suspects = accountRepository.findAccountsWithTransactionCountMismatch();
+        
+        int corrected = 0;
+        for (String accountNumber : suspects) {
+            Boolean fixed = transactionTemplate.execute(status -> {
+                // With the row locked no posting to this account is half-committed, so the
+                // count below sees exactly the postings the counter should include
+                Account account = accountRepository.findByAccountNumberForUpdate(accountNumber).orElse(null);
+                if (account == null) {
+                    return false;
+                }
+                long actual = transactionRepository.countByAccountNumber(accountNumber);
+                if (account.getTransactionCount() == actual) {
+                    return false; // a posting was in flight during the scan
+                }
+                
+                logger.warn("Transaction count drift on account: {} | Maintained: {} | Actual: {}", 
+                           accountNumber, account.getTransactionCount(), actual);
+                accountRepository.setTransactionCount(accountNumber, actual);
+                return true;
+            });
+            
+            if (Boolean.TRUE.equals(fixed)) {
+                cacheManager.getCache(CacheConfig.ACCOUNTS).evict(accountNumber);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+    
+    private boolean reconcileCustomerCount() {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            // Customers and their counter increment commit together and are never deleted,
+            // so an unchanged counter means COUNT(*) saw the same set of customers
+            long before = customerRepository.sumCustomerCounter();
+            long actual = customerRepository.count();
+            long after = customerRepository.sumCustomerCounter();
+            if (before != after) {
+                logger.debug("Customers created during reconciliation; customer count checked next run");
+                return false;
+            }
+            if (actual == after) {
+                return false;
+            }
+            
+            logger.warn("Customer count drift | Maintained: {} | Actual: {}", after, actual);
+            // Correct by the difference, so concurrent increments to other slots are kept
+            customerRepository.addToCustomerCounter(0, actual - after);
+            return true;
+        }));
+    }
+}
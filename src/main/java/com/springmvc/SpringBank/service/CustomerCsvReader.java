@@ -0,0 +1,145 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.dto.CustomerRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams customer rows out of a CSV document, one line at a time
+ *
+ * The first line is a header naming the columns (name, email, phone; any order, case
+ * insensitive, phone optional). Fields may be quoted, with "" for a literal quote; quoted
+ * fields cannot span lines. Empty fields become null.
+ *
+ * A line that cannot be parsed yields null, so the importer can report it against its row
+ * index without stopping the import.
+ */
+public class CustomerCsvReader implements Iterator<CustomerRequest> {
+
+    private final BufferedReader reader;
+    private final int nameColumn;
+    private final int emailColumn;
+    private final int phoneColumn;
+    private final int columnCount;
+
+    private String nextLine;
+
+    public CustomerCsvReader(Reader source) {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+
+        String header = readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty; expected a header line");
+        }
+        List<String> columns = parseLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV header could not be parsed");
+        }
+        columns.replaceAll(column -> column == null ? "" : column.trim().toLowerCase(Locale.ROOT));
+
+        this.nameColumn = columns.indexOf("name");
+        this.emailColumn = columns.indexOf("email");
+        this.phoneColumn = columns.indexOf("phone");
+        this.columnCount = columns.size();
+        if (nameColumn < 0 || emailColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain name and email columns: " + header);
+        }
+
+        this.nextLine = readNonBlankLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    /**
+     * @return the next row, or null when the line is malformed
+     */
+    @Override
+    public CustomerRequest next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> fields = parseLine(nextLine);
+        nextLine = readNonBlankLine();
+
+        if (fields == null || fields.size() != columnCount) {
+            return null;
+        }
+        return new CustomerRequest(
+            fields.get(nameColumn),
+            fields.get(emailColumn),
+            phoneColumn >= 0 ? fields.get(phoneColumn) : null);
+    }
+
+    private String readNonBlankLine() {
+        String line;
+        do {
+            line = readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV import", e);
+        }
+    }
+
+    /**
+     * Split one line into fields
+     *
+     * @return null when a quoted field is not closed or is followed by anything but a comma
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        return null; // unterminated quote
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    return null;
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    field.append(line.charAt(i++));
+                }
+            }
+
+            String value = field.toString().trim();
+            fields.add(value.isEmpty() ? null : value);
+
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++; // skip the comma
+        }
+    }
+}
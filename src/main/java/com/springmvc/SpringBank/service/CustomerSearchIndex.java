@@ -0,0 +1,477 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Customer;
+import com.springmvc.SpringBank.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory n-gram index over customer name, email and phone
+ *
+ * Every customer gets an ordinal in insertion order. Each field is split into case-insensitive
+ * trigrams, and each trigram keeps the ascending list of ordinals containing it. A search for
+ * a term of 3+ characters intersects the posting lists of the term's trigrams, starting from
+ * the shortest, and confirms each candidate with a real substring match (trigrams alone can
+ * match out of order). Terms of 1-2 characters match the start of a name word, email or phone
+ * through separate prefix postings.
+ *
+ * Matches are ranked (exact name, name prefix, name word prefix, name substring, then email
+ * and phone matches; ties in insertion order) and only offset + limit of them are kept, so
+ * a page costs the intersection plus a small heap, never a sort of every match.
+ *
+ * The index is loaded from the database once the application is ready and then updated as
+ * customers are created, after their transaction commits. Until it is loaded isReady() is
+ * false and callers fall back to the database query. Customers are never deleted or renamed
+ * in this application, so entries are only ever added.
+ *
+ * Customers created by other instances sharing the database are picked up by a periodic
+ * catch-up load (catchUp()), so on those instances they become searchable within
+ * springbank.customers.search.catch-up-interval rather than straight away.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    // Prefix postings live in the same map as trigrams, told apart by this bit and the length
+    private static final long PREFIX_KEY = 1L << 48;
+
+    private static final int SCORE_EXACT_NAME = 100;
+    private static final int SCORE_NAME_PREFIX = 80;
+    private static final int SCORE_NAME_WORD_PREFIX = 60;
+    private static final int SCORE_NAME_SUBSTRING = 40;
+    private static final int SCORE_EMAIL_PREFIX = 30;
+    private static final int SCORE_EMAIL_SUBSTRING = 20;
+    private static final int SCORE_PHONE = 10;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final boolean enabled;
+
+    @Value("${springbank.customers.search.catch-up-lookback:5m}")
+    private Duration catchUpLookback;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final LongLongMap ordinalsById = new LongLongMap(1024);
+    private Entry[] entries = new Entry[1024];
+    private int size;
+
+    private volatile boolean ready;
+    // Start of the previous full or catch-up load; published by the write to ready
+    private LocalDateTime loadedSince;
+
+    public CustomerSearchIndex(@Value("${springbank.customers.search.index-enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Load every existing customer, a keyset page at a time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            logger.info("Customer search index disabled; searches use the database");
+            return;
+        }
+
+        long start = System.nanoTime();
+        loadedSince = LocalDateTime.now();
+        long afterId = 0;
+        List<Customer> page;
+        do {
+            page = customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            afterId = insertAll(page, afterId);
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        ready = true;
+        logger.info("Customer search index loaded: {} customers | {} grams | {} ms",
+                    size(), postingsSize(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Index customers created since the previous load, including those created by other
+     * instances, which this instance's add() never sees
+     * Rereads everything stamped within catch-up-lookback before the previous load started
+     * (already indexed customers are skipped), to allow for clock skew between instances and
+     * for transactions that commit well after their rows were stamped.
+     */
+    @Scheduled(initialDelayString = "${springbank.customers.search.catch-up-interval:30s}", 
+               fixedDelayString = "${springbank.customers.search.catch-up-interval:30s}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            LocalDateTime since = loadedSince.minus(catchUpLookback);
+            int before = size();
+            long afterId = 0;
+            List<Customer> page;
+            do {
+                page = customerRepository.findByCreatedDateGreaterThanEqualAndIdGreaterThanOrderByIdAsc(
+                    since, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                afterId = insertAll(page, afterId);
+            } while (page.size() == LOAD_PAGE_SIZE);
+            loadedSince = started;
+
+            int added = size() - before;
+            if (added > 0) {
+                logger.info("Customer search index caught up: {} customers added", added);
+            }
+        } catch (Exception e) {
+            logger.error("Customer search index catch-up failed", e);
+        }
+    }
+
+    /**
+     * Index a newly created customer
+     * Inside a transaction the entry is added after commit, so rolled-back customers never
+     * become searchable; outside one it is added straight away.
+     */
+    public void add(Customer customer) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(entry);
+                }
+            });
+        } else {
+            addNow(entry);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of customers matching the term, best match first
+     *
+     * @param offset number of ranked matches to skip
+     * @param limit maximum number of ids to return
+     */
+    public List<Long> search(String term, int offset, int limit) {
+        String query = normalize(term.trim());
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = postingsFor(query);
+            if (lists == null) {
+                return List.of();
+            }
+            return topMatches(query, lists, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int postingsSize() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a page of a keyset load
+     *
+     * @return the id to continue the load after
+     */
+    private long insertAll(List<Customer> page, long afterId) {
+        if (page.isEmpty()) {
+            return afterId;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Customer customer : page) {
+                insert(new Entry(customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return page.get(page.size() - 1).getId();
+    }
+
+    private void addNow(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            insert(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Must hold the write lock. A customer seen twice (created while the index was loading) is
+     * indexed once.
+     */
+    private void insert(Entry entry) {
+        if (ordinalsById.get(entry.id, -1) >= 0) {
+            return;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        int ordinal = size++;
+        entries[ordinal] = entry;
+        ordinalsById.put(entry.id, ordinal);
+
+        indexField(entry.name, ordinal, true);
+        indexField(entry.email, ordinal, false);
+        indexField(entry.phone, ordinal, false);
+    }
+
+    private void indexField(String value, int ordinal, boolean wordPrefixes) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            addPosting(trigramKey(value, i), ordinal);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            boolean wordStart = i == 0 || (wordPrefixes && !Character.isLetterOrDigit(value.charAt(i - 1)));
+            if (wordStart && Character.isLetterOrDigit(value.charAt(i))) {
+                addPosting(prefixKey(value, i, 1), ordinal);
+                if (i + 1 < value.length()) {
+                    addPosting(prefixKey(value, i, 2), ordinal);
+                }
+            }
+        }
+    }
+
+    private void addPosting(long key, int ordinal) {
+        postings.computeIfAbsent(key, k -> new Postings()).add(ordinal);
+    }
+
+    /**
+     * Posting lists every match must appear in, shortest first; null when one is missing
+     */
+    private Postings[] postingsFor(String query) {
+        long[] keys;
+        if (query.length() >= 3) {
+            keys = new long[query.length() - 2];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = trigramKey(query, i);
+            }
+        } else {
+            keys = new long[] { prefixKey(query, 0, query.length()) };
+        }
+
+        Postings[] lists = new Postings[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = postings.get(keys[i]);
+            if (lists[i] == null) {
+                return null;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    private List<Long> topMatches(String query, Postings[] lists, int offset, int limit) {
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        // Worst kept match at the head, so it is the one replaced by a better candidate
+        PriorityQueue<long[]> best = new PriorityQueue<>(
+            Comparator.<long[]>comparingLong(hit -> hit[0]).thenComparingLong(hit -> -hit[1]));
+        int[] cursors = new int[lists.length];
+
+        Postings shortest = lists[0];
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            int ordinal = shortest.values[i];
+            for (int l = 1; l < lists.length; l++) {
+                if (!lists[l].advanceTo(cursors, l, ordinal)) {
+                    continue candidates;
+                }
+            }
+
+            int score = score(entries[ordinal], query);
+            if (score == 0) {
+                continue;
+            }
+            if (best.size() < keep) {
+                best.add(new long[] { score, ordinal });
+            } else if (score > best.peek()[0]) {
+                best.poll();
+                best.add(new long[] { score, ordinal });
+            }
+        }
+
+        List<long[]> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.<long[]>comparingLong(hit -> -hit[0]).thenComparingLong(hit -> hit[1]));
+        List<Long> ids = new ArrayList<>(Math.max(0, ranked.size() - offset));
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(entries[(int) ranked.get(i)[1]].id);
+        }
+        return ids;
+    }
+
+    private static int score(Entry entry, String query) {
+        int name = indexOf(entry.name, query);
+        if (name == 0) {
+            return entry.name.length() == query.length() ? SCORE_EXACT_NAME : SCORE_NAME_PREFIX;
+        }
+        if (name > 0) {
+            return isWordStart(entry.name, name) ? SCORE_NAME_WORD_PREFIX : SCORE_NAME_SUBSTRING;
+        }
+        int email = indexOf(entry.email, query);
+        if (email == 0) {
+            return SCORE_EMAIL_PREFIX;
+        }
+        // Short terms only match the start of a field, like their prefix postings
+        if (email > 0 && query.length() >= 3) {
+            return SCORE_EMAIL_SUBSTRING;
+        }
+        int phone = indexOf(entry.phone, query);
+        return phone == 0 || (phone > 0 && query.length() >= 3) ? SCORE_PHONE : 0;
+    }
+
+    private static boolean isWordStart(String value, int index) {
+        return !Character.isLetterOrDigit(value.charAt(index - 1));
+    }
+
+    /**
+     * Case-insensitive indexOf of an already normalized query; -1 when absent
+     */
+    private static int indexOf(String value, String query) {
+        if (value == null) {
+            return -1;
+        }
+        outer:
+        for (int i = 0; i + query.length() <= value.length(); i++) {
+            for (int j = 0; j < query.length(); j++) {
+                if (Character.toLowerCase(value.charAt(i + j)) != query.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // Lower-cased char by char, the same way grams are built, so both sides always agree
+    static String normalize(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    static long trigramKey(String value, int from) {
+        return ((long) Character.toLowerCase(value.charAt(from)) << 32)
+            | ((long) Character.toLowerCase(value.charAt(from + 1)) << 16)
+            | Character.toLowerCase(value.charAt(from + 2));
+    }
+
+    static long prefixKey(String value, int from, int length) {
+        long key = PREFIX_KEY | ((long) length << 40);
+        for (int i = 0; i < length; i++) {
+            key |= (long) Character.toLowerCase(value.charAt(from + i)) << (16 * (length - 1 - i));
+        }
+        return key;
+    }
+
+    private static final class Entry {
+
+        final long id;
+        final String name;
+        final String email;
+        final String phone;
+
+        Entry(long id, String name, String email, String phone) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.phone = phone;
+        }
+    }
+
+    /**
+     * Ascending ordinals of the customers containing one gram
+     */
+    private static final class Postings {
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            // Ordinals arrive in increasing order; a gram repeated within one customer is stored once
+            if (size > 0 && values[size - 1] == ordinal) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ordinal;
+        }
+
+        /**
+         * Move this list's cursor forward to the first ordinal >= target
+         *
+         * @return whether the target is in the list
+         */
+        boolean advanceTo(int[] cursors, int list, int target) {
+            int cursor = cursors[list];
+            if (cursor < size && values[cursor] < target) {
+                // Gallop: double the step until past the target, then binary search that span,
+                // so a short list intersected with a long one skips most of the long one
+                int low = cursor;
+                int step = 1;
+                while (low + step < size && values[low + step] < target) {
+                    low += step;
+                    step <<= 1;
+                }
+                int found = Arrays.binarySearch(values, low + 1, Math.min(low + step + 1, size), target);
+                cursor = found >= 0 ? found : -found - 1;
+            }
+            cursors[list] = cursor;
+            return cursor < size && values[cursor] == target;
+        }
+    }
+}
@@ -1,15 +1,45 @@
 package com.springmvc.SpringBank.service;
 
+import com.springmvc.SpringBank.config.CacheConfig;
+import com.springmvc.SpringBank.dto.CustomerImportResponse;
+import com.springmvc.SpringBank.dto.CustomerImportResult;
+import com.springmvc.SpringBank.dto.CustomerRequest;
 import com.springmvc.SpringBank.entity.Customer;
 import com.springmvc.SpringBank.exception.CustomerNotFoundException;
 import com.springmvc.SpringBank.repository.CustomerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Customer management
@@ -22,9 +52,46 @@ public class CustomerService {
     
     private static final Logger logger = LoggerFactory.getLogger(CustomerService.class);
     
+    /**
+     * Largest page a customer search may request
+     */
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    
+    /**
+     * Ranked search results reachable through paging (page * size + size)
+     */
+    public static final int MAX_SEARCH_RESULTS = 10_000;
+    
+    /**
+     * Largest page the customer listing may request
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+    
     @Autowired
     private CustomerRepository customerRepository;
     
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private BankingMetrics bankingMetrics;
+    
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private Validator validator;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Rows validated, checked and inserted together by the bulk import
+    @Value("${springbank.customers.import-chunk-size:1000}")
+    private int importChunkSize;
+    
     /**
      * Create a new customer
      * Assessment Requirement: "Create Customer: Accepts name and auto-generates ID"
@@ -32,65 +99,327 @@ public class CustomerService {
     public Customer createCustomer(String name, String email, String phone) {
         logger.info("Creating customer with name: {}", name);
         
+        return bankingMetrics.record(BankingMetrics.CUSTOMER_CREATE, () -> insertCustomer(name, email, phone));
+    }
+    
+    private Customer insertCustomer(String name, String email, String phone) {
         // Validate email uniqueness
-        if (email != null && customerRepository.existsByEmail(email)) {
+        if (email != null && existsByEmail(email)) {
             throw new IllegalArgumentException("Email already exists: " + email);
         }
         
         Customer customer = new Customer(name, email, phone);
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer;
+        try {
+            // Flushed here so a clash on uk_customers_email (registered by another instance or
+            // concurrently) surfaces as the same 400 as the check above, not a 500 at commit
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Email already exists: " + email, e);
+        }
+        countCustomers(1);
+        
+        // Applied after commit by the transaction-aware cache and the search index
+        if (email != null) {
+            emailCache().put(email, Boolean.TRUE);
+        }
+        customerSearchIndex.add(savedCustomer);
         
         logger.info("Customer created successfully with ID: {}", savedCustomer.getId());
         return savedCustomer;
     }
     
+    /**
+     * Bulk customer import (partner bank onboarding)
+     * Rows are processed in chunks: each chunk is validated, checked against existing emails
+     * with a single IN query and inserted in one transaction using JDBC batches. Invalid rows
+     * and duplicate emails are reported by row index and skipped; they never abort the import.
+     * Chunks commit independently, so rows imported before a failure stay imported.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerImportResponse importCustomers(Iterator<CustomerRequest> rows) {
+        return bankingMetrics.record(BankingMetrics.CUSTOMER_IMPORT, () -> importChunks(rows));
+    }
+    
+    /**
+     * Bulk customer import from a CSV document (header: name,email,phone), streamed row by row
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerImportResponse importCustomersCsv(Reader csv) {
+        return importCustomers(new CustomerCsvReader(csv));
+    }
+    
+    private CustomerImportResponse importChunks(Iterator<CustomerRequest> rows) {
+        List<CustomerImportResult> errors = new ArrayList<>();
+        List<CustomerRequest> chunk = new ArrayList<>(importChunkSize);
+        int totalRows = 0;
+        int imported = 0;
+        
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            totalRows++;
+            if (chunk.size() == importChunkSize) {
+                imported += importChunk(chunk, totalRows - chunk.size(), errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk, totalRows - chunk.size(), errors);
+        }
+        
+        logger.info("Customer import finished: {} rows | {} imported | {} rejected", 
+                    totalRows, imported, errors.size());
+        return new CustomerImportResponse(totalRows, imported, errors.size(), errors);
+    }
+    
+    /**
+     * Validate and insert one chunk; rejected rows are added to errors
+     * 
+     * @return number of customers inserted
+     */
+    private int importChunk(List<CustomerRequest> chunk, int firstIndex, List<CustomerImportResult> errors) {
+        List<CustomerImportResult> rejected = new ArrayList<>();
+        Map<String, Integer> indexByEmail = new LinkedHashMap<>();
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            CustomerRequest row = chunk.get(i);
+            String error = validateImportRow(row);
+            if (error != null) {
+                rejected.add(new CustomerImportResult(firstIndex + i, row != null ? row.getEmail() : null, error));
+            } else if (row.getEmail() != null && indexByEmail.putIfAbsent(row.getEmail(), firstIndex + i) != null) {
+                rejected.add(new CustomerImportResult(firstIndex + i, row.getEmail(), 
+                    "Duplicate email in import: " + row.getEmail()));
+            } else {
+                candidates.add(i);
+            }
+        }
+        
+        // One round trip for the whole chunk instead of existsByEmail per row
+        Set<String> existing = indexByEmail.isEmpty() 
+            ? Set.of() 
+            : new HashSet<>(customerRepository.findExistingEmails(indexByEmail.keySet()));
+        
+        List<Customer> customers = new ArrayList<>(candidates.size());
+        List<Integer> customerIndexes = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            CustomerRequest row = chunk.get(i);
+            if (row.getEmail() != null && existing.contains(row.getEmail())) {
+                rejected.add(new CustomerImportResult(firstIndex + i, row.getEmail(), 
+                    "Email already exists: " + row.getEmail()));
+            } else {
+                customers.add(new Customer(row.getName(), row.getEmail(), row.getPhone()));
+                customerIndexes.add(firstIndex + i);
+            }
+        }
+        
+        int imported = insertCustomers(customers, customerIndexes, rejected);
+        
+        rejected.sort(Comparator.comparingInt(CustomerImportResult::getIndex));
+        errors.addAll(rejected);
+        logger.debug("Imported customer chunk at row {}: {} inserted | {} rejected", 
+                     firstIndex, imported, rejected.size());
+        return imported;
+    }
+    
+    private int insertCustomers(List<Customer> customers, List<Integer> indexes, List<CustomerImportResult> rejected) {
+        if (customers.isEmpty()) {
+            return 0;
+        }
+        
+        try {
+            // Pooled sequence ids + hibernate.jdbc.batch_size: inserts go out in JDBC batches
+            transactionTemplate.executeWithoutResult(status -> {
+                customerRepository.saveAll(customers);
+                countCustomers(customers.size());
+            });
+            customers.forEach(this::onImported);
+            return customers.size();
+        } catch (DataIntegrityViolationException e) {
+            // An email was registered after the IN check (concurrent create or import):
+            // insert the chunk row by row so only the clashing rows are rejected
+            logger.warn("Customer import chunk hit a duplicate email; retrying {} rows one by one", customers.size());
+        }
+        
+        int imported = 0;
+        for (int i = 0; i < customers.size(); i++) {
+            Customer failed = customers.get(i);
+            Customer customer = new Customer(failed.getName(), failed.getEmail(), failed.getPhone());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    customerRepository.save(customer);
+                    countCustomers(1);
+                });
+                onImported(customer);
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                rejected.add(new CustomerImportResult(indexes.get(i), customer.getEmail(), 
+                    "Email already exists: " + customer.getEmail()));
+            }
+        }
+        return imported;
+    }
+    
+    private String validateImportRow(CustomerRequest row) {
+        if (row == null) {
+            return "Row could not be parsed";
+        }
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+    
+    // Must run in the transaction inserting the customers; a random slot spreads the row locks
+    private void countCustomers(int created) {
+        customerRepository.addToCustomerCounter(ThreadLocalRandom.current().nextInt(Customer.COUNTER_SLOTS), created);
+    }
+    
+    // Called after the chunk's transaction has committed
+    private void onImported(Customer customer) {
+        if (customer.getEmail() != null) {
+            emailCache().put(customer.getEmail(), Boolean.TRUE);
+        }
+        customerSearchIndex.add(customer);
+    }
+    
+    /**
+     * Check whether an email is already registered
+     * Only "taken" is cached: emails are never released, so that answer cannot go stale,
+     * whereas a cached "free" would miss customers created by other instances
+     */
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        if (Boolean.TRUE.equals(emailCache().get(email, Boolean.class))) {
+            return true;
+        }
+        boolean exists = customerRepository.existsByEmail(email);
+        if (exists) {
+            emailCache().put(email, Boolean.TRUE);
+        }
+        return exists;
+    }
+    
     /**
      * Find customer by ID
      * Assessment Requirement: "Inquire Customer: Returns customer details by ID"
+     * 
+     * Served from the customer cache when called through the proxy; the returned
+     * instance is shared and detached, so callers must not modify it
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
     public Customer findCustomerById(Long id) {
-        logger.info("Searching for customer with ID: {}", id);
+        logger.debug("Searching for customer with ID: {}", id);
         
         return customerRepository.findById(id)
             .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + id));
     }
 
     /**
-     * GET ALL CUSTOMERS - CRITICAL MISSING METHOD
-     * Returns all customers in the database
-     * This method was missing and causing compilation errors
-     * Frontend requires this for the GET /api/customers endpoint
+     * GET CUSTOMERS PAGE
+     * Returns one page of customers in id order, by offset (page) or by keyset (afterId)
+     * 
+     * Keyset paging seeks straight to the first id after afterId, so it costs the same however
+     * deep into the table it goes; offset paging skips page * size rows first.
+     * 
+     * @param afterId when not null, return customers with a larger id and ignore page
      */
     @Transactional(readOnly = true)
-    public List<Customer> findAllCustomers() {
-        logger.info("Retrieving all customers from database");
+    public List<Customer> findCustomersPage(int page, int size, Long afterId) {
+        logger.debug("Retrieving customers page {} | size {} | afterId {}", page, size, afterId);
+        
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
         
         try {
-            List<Customer> customers = customerRepository.findAll();
+            List<Customer> customers = afterId != null
+                ? customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, size))
+                : customerRepository.findAllByOrderByIdAsc(PageRequest.of(page, size));
             
-            logger.info("Found {} customers in database", customers.size());
+            logger.debug("Found {} customers", customers.size());
             return customers;
             
         } catch (Exception e) {
-            logger.error("Error retrieving all customers from database", e);
+            logger.error("Error retrieving customers page from database", e);
             throw new RuntimeException("Failed to retrieve customers", e);
         }
     }
+    
+    /**
+     * STREAM ALL CUSTOMERS
+     * Hands every customer, in id order, to the consumer as it is read from the database
+     * Each customer is detached once consumed, so the persistence context does not grow
+     * and memory stays flat regardless of the number of customers
+     * 
+     * @return number of customers streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamAllCustomers(Consumer<Customer> consumer) {
+        logger.debug("Streaming all customers from database");
+        
+        long streamed = 0;
+        try (Stream<Customer> customers = customerRepository.streamAllByOrderById()) {
+            for (Customer customer : (Iterable<Customer>) customers::iterator) {
+                consumer.accept(customer);
+                entityManager.detach(customer);
+                streamed++;
+            }
+        }
+        
+        logger.debug("Streamed {} customers", streamed);
+        return streamed;
+    }
 
     /**
-     * SEARCH CUSTOMERS BY NAME - MISSING METHOD
-     * Returns customers whose names contain the search term (case-insensitive)
-     * This method was referenced but not implemented, causing compilation errors
+     * SEARCH CUSTOMERS
+     * Returns one page of customers whose name, email or phone contains the search term
+     * (case-insensitive), best matches first
+     * 
+     * Answered by the in-memory n-gram index; only the page itself is loaded from the database.
+     * While the index is still loading (or disabled) the same fields are searched with LIKE and
+     * ranked the same way. One difference remains: the index treats any punctuation as the
+     * start of a name word ("Mary-Jane", "O'Brien"), the fallback only a space.
      */
     @Transactional(readOnly = true)
-    public List<Customer> findCustomersByName(String name) {
-        logger.info("Searching customers by name containing: {}", name);
+    public List<Customer> findCustomersByName(String name, int page, int size) {
+        logger.debug("Searching customers matching: {} | page {} | size {}", name, page, size);
+        
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if ((long) page * size + size > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_RESULTS + " matches");
+        }
         
         try {
-            List<Customer> customers = customerRepository.findByNameContainingIgnoreCase(name);
+            if (!customerSearchIndex.isReady()) {
+                return searchDatabase(name, page, size);
+            }
             
-            logger.info("Found {} customers matching name pattern: '{}'", customers.size(), name);
+            List<Long> ids = customerSearchIndex.search(name, page * size, size);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, Customer> byId = customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+            List<Customer> customers = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            
+            logger.debug("Found {} customers matching: '{}'", customers.size(), name);
             return customers;
             
         } catch (Exception e) {
@@ -99,19 +428,39 @@ public class CustomerService {
         }
     }
 
+    /**
+     * Search fallback with the index's matching rules: terms of 3+ characters match anywhere in
+     * name, email or phone; shorter terms only the start of a name word, email or phone
+     */
+    private List<Customer> searchDatabase(String name, int page, int size) {
+        String term = CustomerSearchIndex.normalize(name.trim());
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        String escaped = term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        String prefix = escaped + "%";
+        String wordPrefix = "% " + escaped + "%";
+        boolean substring = term.length() >= 3;
+        
+        return customerRepository.searchRanked(term, prefix, wordPrefix,
+            substring ? "%" + escaped + "%" : wordPrefix,
+            substring ? "%" + escaped + "%" : prefix,
+            PageRequest.of(page, size));
+    }
+
     /**
      * GET CUSTOMER COUNT - MISSING METHOD
      * Returns total number of customers in the database
-     * This method was referenced but not implemented, causing compilation errors
+     * Read from the maintained customer counter (a handful of rows), not COUNT(*) over the table
      */
     @Transactional(readOnly = true)
     public long getCustomerCount() {
-        logger.info("Getting total customer count");
+        logger.debug("Getting total customer count");
         
         try {
-            long count = customerRepository.count();
+            long count = customerRepository.sumCustomerCounter();
             
-            logger.info("Total customer count: {}", count);
+            logger.debug("Total customer count: {}", count);
             return count;
             
         } catch (Exception e) {
@@ -119,4 +468,8 @@ public class CustomerService {
             throw new RuntimeException("Failed to get customer count", e);
         }
     }
+    
+    private Cache emailCache() {
+        return cacheManager.getCache(CacheConfig.CUSTOMER_EMAILS);
+    }
 }
\ No newline at end of file
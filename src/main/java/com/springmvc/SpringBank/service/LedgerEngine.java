@@ -0,0 +1,577 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Account;
+import com.springmvc.SpringBank.entity.PostingDeadLetter;
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.AccountStatus;
+import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.exception.AccountNotActiveException;
+import com.springmvc.SpringBank.exception.AccountNotFoundException;
+import com.springmvc.SpringBank.exception.InsufficientFundsException;
+import com.springmvc.SpringBank.exception.PostingEngineUnavailableException;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * In-memory ledger mode for deposits and withdrawals (springbank.ledger.enabled=true)
+ *
+ * Accounts are partitioned by hash of their number into shards. Each shard is owned by one
+ * thread that consumes posting commands from a lock-free ring buffer, so every account has a
+ * single writer and its postings are applied in the order they entered the ring. Balances are
+ * held per shard in a primitive long-keyed map, in minor units (cents) rather than BigDecimal;
+ * an account's balance is loaded from the database the first time the shard sees it.
+ *
+ * Accepted postings are acknowledged straight away and handed to a persister thread, which
+ * writes them in batches through the PostingBatchWriter. Nothing is durable until then: a
+ * crash loses the postings still queued for persistence. Use journal mode when acknowledged
+ * postings must survive a crash. Postings are checked against the column limits (description
+ * length, balance precision) before they are acknowledged; a batch that still fails
+ * persist-max-attempts times is persisted one posting at a time, and the postings that fail on
+ * their own are moved to posting_dead_letters (their accounts' balances are reloaded on next use).
+ *
+ * runDirect() fences the accounts involved: their shard waits until everything it acknowledged
+ * is persisted and forgets their balances, and postings that arrive while the direct posting
+ * runs are held back and applied, in order, once it has finished. When persistence does not
+ * catch up within fence-timeout the fence fails with PostingEngineUnavailableException.
+ *
+ * Single node only: balances live in the shards of this process and persisted postings are
+ * applied without a balance guard (AccountRepository.applyAcknowledgedDelta), so a second
+ * instance posting to the same accounts would overdraw them. Startup fails unless
+ * springbank.posting.single-writer=true confirms this is the only instance writing.
+ *
+ * Account numbers are keyed by their digits, so only "ACC" + up to 17 digits (the format
+ * AccountNumberGenerator produces, and the older timestamp-based one) can be posted in this mode.
+ */
+@Service
+@ConditionalOnProperty(name = "springbank.ledger.enabled", havingValue = "true")
+public class LedgerEngine implements PostingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private static final String ACCOUNT_PREFIX = AccountNumberGenerator.PREFIX;
+    private static final int MAX_ACCOUNT_DIGITS = 17;
+
+    // Balances are stored as minor units of this scale (the scale of the balance columns)
+    private static final int MINOR_UNIT_SCALE = 2;
+    // Largest balance the precision-15 columns can hold, in minor units
+    private static final long MAX_BALANCE = toMinorUnits(Account.MAX_BALANCE);
+
+    // Balance map markers; real balances are never negative
+    private static final long MISSING = -1;
+    private static final long NOT_ACTIVE = -2;
+
+    // Shard idle strategy: busy-spin briefly, then park until a producer wakes it up
+    private static final int IDLE_SPINS = 200;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PostingBatchWriter postingBatchWriter;
+
+    @Value("${springbank.posting.single-writer:false}")
+    private boolean singleWriter;
+
+    // 0 means one shard per available processor
+    @Value("${springbank.ledger.shards:0}")
+    private int shardCount;
+
+    @Value("${springbank.ledger.ring-size:16384}")
+    private int ringSize;
+
+    @Value("${springbank.ledger.persist-queue-capacity:262144}")
+    private int persistQueueCapacity;
+
+    @Value("${springbank.ledger.persist-batch-size:2000}")
+    private int persistBatchSize;
+
+    @Value("${springbank.ledger.persist-max-attempts:3}")
+    private int persistMaxAttempts;
+
+    @Value("${springbank.ledger.fence-timeout:30s}")
+    private Duration fenceTimeout;
+
+    private Shard[] shards;
+    private BlockingQueue<Acknowledged> persistQueue;
+    // Per shard: sequence of the last acknowledged posting that has been persisted
+    private AtomicLongArray persistedSequences;
+    private volatile boolean running;
+    private volatile boolean persisting;
+    private Thread persister;
+
+    @PostConstruct
+    public void start() {
+        if (!singleWriter) {
+            throw new IllegalStateException("Ledger mode keeps balances in memory and is only safe with a single "
+                + "instance writing to the database; set springbank.posting.single-writer=true to confirm");
+        }
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        persistQueue = new ArrayBlockingQueue<>(persistQueueCapacity);
+        persistedSequences = new AtomicLongArray(count);
+        shards = new Shard[count];
+
+        running = true;
+        persisting = true;
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, new LedgerRingBuffer<>(ringSize));
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+        persister = Thread.ofPlatform().name("ledger-persister").daemon(true).start(this::persistLoop);
+
+        logger.info("Ledger engine started: {} shards, ring size {}", count, ringSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+            shard.thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        // Shards are done acknowledging; persist whatever is still queued
+        persisting = false;
+        persister.join(TimeUnit.SECONDS.toMillis(30));
+        logger.info("Ledger engine stopped ({} postings left unpersisted)", persistQueue.size());
+    }
+
+    /**
+     * Route a deposit or withdrawal to its account's shard and wait for the shard's decision
+     *
+     * @return the accepted transaction; its id is assigned when it is persisted
+     */
+    @Override
+    public Transaction post(String accountNumber, TransactionType type, BigDecimal amount, String description,
+                            String idempotencyKey) {
+        // Anything the transactions table cannot hold would fail every persist of its batch
+        if (description != null && description.length() > Transaction.MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException(
+                "Description must be at most " + Transaction.MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        long key = requireAccountKey(accountNumber);
+        return submit(new Command(Command.POST, key, accountNumber, type, toMinorUnits(amount), description,
+                                  idempotencyKey));
+    }
+
+    /**
+     * Run a posting that writes to the database directly (transfer, batch, close)
+     * Fences the accounts for the duration; see the class comment.
+     * The caller must hold the locks of those accounts.
+     */
+    @Override
+    public <T> T runDirect(Supplier<T> posting, String... accountNumbers) {
+        List<Command> fenced = new ArrayList<>(accountNumbers.length);
+        try {
+            for (String accountNumber : accountNumbers) {
+                long key = accountKey(accountNumber);
+                if (key != 0) { // the ledger never held a balance for other formats
+                    submit(new Command(Command.FENCE, key, accountNumber, null, 0, null, null));
+                    fenced.add(new Command(Command.RELEASE, key, accountNumber, null, 0, null, null));
+                }
+            }
+            return posting.get();
+        } finally {
+            for (Command release : fenced) {
+                submit(release);
+            }
+        }
+    }
+
+    private Transaction submit(Command command) {
+        if (!running) {
+            throw new PostingEngineUnavailableException("Ledger engine is not running");
+        }
+        Shard shard = shardFor(command.key);
+        while (!shard.ring.offer(command)) {
+            // Ring full: back off until the shard catches up
+            LockSupport.parkNanos(1_000);
+        }
+        shard.wakeUp();
+
+        try {
+            return command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Shard shardFor(long key) {
+        return shards[Math.floorMod(Long.hashCode(key * 0x9E3779B97F4A7C15L), shards.length)];
+    }
+
+    /**
+     * Key for the shard maps: the digits of the account number, with the digit count in the low
+     * five bits so numbers that differ only in leading zeros stay apart
+     *
+     * @return 0 when the account number is not in the supported format
+     */
+    static long accountKey(String accountNumber) {
+        if (accountNumber == null || !accountNumber.startsWith(ACCOUNT_PREFIX)) {
+            return 0;
+        }
+        int digits = accountNumber.length() - ACCOUNT_PREFIX.length();
+        if (digits < 1 || digits > MAX_ACCOUNT_DIGITS) {
+            return 0;
+        }
+        long value = 0;
+        for (int i = ACCOUNT_PREFIX.length(); i < accountNumber.length(); i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return (value << 5) | digits;
+    }
+
+    private static long requireAccountKey(String accountNumber) {
+        long key = accountKey(accountNumber);
+        if (key == 0) {
+            throw new IllegalArgumentException("Account number not supported in ledger mode: " + accountNumber);
+        }
+        return key;
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        try {
+            return amount.movePointRight(MINOR_UNIT_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + MINOR_UNIT_SCALE + " decimal places: " + amount);
+        }
+    }
+
+    static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+
+    private void persistLoop() {
+        List<Acknowledged> batch = new ArrayList<>(persistBatchSize);
+        List<Transaction> transactions = new ArrayList<>(persistBatchSize);
+        while (persisting || !persistQueue.isEmpty()) {
+            try {
+                Acknowledged first = persistQueue.poll(10, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                persistQueue.drainTo(batch, persistBatchSize - 1);
+                for (Acknowledged acknowledged : batch) {
+                    transactions.add(acknowledged.transaction);
+                }
+
+                persist(transactions);
+
+                // The queue is FIFO and each shard enqueues in sequence order, so the last entry
+                // of a shard in the batch is its highest
+                for (Acknowledged acknowledged : batch) {
+                    persistedSequences.set(acknowledged.shard, acknowledged.sequence);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.error("Ledger persister interrupted with {} postings queued", persistQueue.size());
+                return;
+            } finally {
+                batch.clear();
+                transactions.clear();
+            }
+        }
+    }
+
+    private void persist(List<Transaction> transactions) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (attempt <= persistMaxAttempts) {
+                    postingBatchWriter.write(transactions);
+                } else {
+                    // The batch keeps failing: persist it one posting at a time. Persisted and
+                    // dead-lettered postings leave the list, so a retry only sees the rest
+                    int size = transactions.size();
+                    List<Transaction> deadLettered = 
+                        postingBatchWriter.writeIsolating(transactions, PostingDeadLetter.LEDGER);
+                    deadLettered.forEach(this::invalidateBalance);
+                    logger.warn("Persisted a failing ledger batch one posting at a time: {} of {} dead-lettered",
+                                deadLettered.size(), size);
+                }
+                return;
+            } catch (RuntimeException e) {
+                // These postings were acknowledged and exist nowhere else: retry, never drop
+                logger.error("Failed to persist {} ledger postings (attempt {}); retrying", 
+                             transactions.size(), attempt, e);
+                transactions.forEach(transaction -> transaction.setId(null));
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    /**
+     * Make the account's shard reload its balance: it still counts the dead-lettered posting
+     * Never waits for the shard, which may itself be waiting for this persister
+     */
+    private void invalidateBalance(Transaction deadLettered) {
+        long key = accountKey(deadLettered.getAccountNumber());
+        Shard shard = shardFor(key);
+        shard.deadLettered.add(key);
+        shard.wakeUp();
+    }
+
+    /**
+     * A posting handed to the persister, with its shard-local sequence
+     */
+    private static final class Acknowledged {
+
+        private final int shard;
+        private final long sequence;
+        private final Transaction transaction;
+
+        private Acknowledged(int shard, long sequence, Transaction transaction) {
+            this.shard = shard;
+            this.sequence = sequence;
+            this.transaction = transaction;
+        }
+    }
+
+    /**
+     * Work item for a shard: a posting, or fencing/releasing an account for runDirect()
+     */
+    private static final class Command {
+
+        static final int POST = 0;
+        static final int FENCE = 1;
+        static final int RELEASE = 2;
+
+        private final int kind;
+        private final long key;
+        private final String accountNumber;
+        private final TransactionType type;
+        private final long amount;
+        private final String description;
+        private final String idempotencyKey;
+        private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+        private Command(int kind, long key, String accountNumber, TransactionType type, long amount,
+                        String description, String idempotencyKey) {
+            this.kind = kind;
+            this.key = key;
+            this.accountNumber = accountNumber;
+            this.type = type;
+            this.amount = amount;
+            this.description = description;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+
+    /**
+     * One partition of the accounts; all of its state is confined to its thread
+     */
+    private final class Shard implements Runnable {
+
+        private final int index;
+        private final LedgerRingBuffer<Command> ring;
+        private final LongLongMap balances = new LongLongMap(1024);
+        // Accounts fenced by runDirect(), with the postings that arrived in the meantime
+        private final Map<Long, ArrayDeque<Command>> fenced = new HashMap<>();
+        // Accounts with a dead-lettered posting, queued by the persister...
+        private final Queue<Long> deadLettered = new ConcurrentLinkedQueue<>();
+        // ...and taken over by the shard: their balance is reloaded once persistence catches up
+        private final Set<Long> stale = new HashSet<>();
+        private final Thread thread;
+        private volatile boolean parked;
+        // Sequence of the last posting handed to the persister
+        private long acknowledgedSequence;
+
+        private Shard(int index, LedgerRingBuffer<Command> ring) {
+            this.index = index;
+            this.ring = ring;
+            this.thread = Thread.ofPlatform().name("ledger-shard-" + index).daemon(true).unstarted(this);
+        }
+
+        private void wakeUp() {
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                Command command = ring.poll();
+                if (command != null) {
+                    idle = 0;
+                    handle(command);
+                } else if (!running) {
+                    break;
+                } else if (++idle < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    // Producers unpark us after offering if they see this flag
+                    parked = true;
+                    if (ring.isEmpty()) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            }
+
+            // Stopped: fail whatever is left rather than leave callers waiting
+            PostingEngineUnavailableException stopped = new PostingEngineUnavailableException("Ledger engine stopped");
+            for (Command command; (command = ring.poll()) != null; ) {
+                command.result.completeExceptionally(stopped);
+            }
+            fenced.values().forEach(waiting -> waiting.forEach(command -> command.result.completeExceptionally(stopped)));
+        }
+
+        private void handle(Command command) {
+            try {
+                switch (command.kind) {
+                    case Command.POST -> {
+                        // Checking isEmpty() first keeps the common path free of boxing
+                        ArrayDeque<Command> waiting = fenced.isEmpty() ? null : fenced.get(command.key);
+                        if (waiting != null) {
+                            waiting.add(command);
+                        } else {
+                            apply(command);
+                        }
+                    }
+                    case Command.FENCE -> fence(command);
+                    case Command.RELEASE -> release(command);
+                    default -> throw new IllegalStateException("Unknown ledger command: " + command.kind);
+                }
+            } catch (RuntimeException e) {
+                command.result.completeExceptionally(e);
+            }
+        }
+
+        private void apply(Command command) {
+            for (Long key; (key = deadLettered.poll()) != null; ) {
+                stale.add(key);
+            }
+            if (!stale.isEmpty() && stale.contains(command.key)) { // unboxed unless something is stale
+                awaitPersisted();
+                stale.remove(command.key);
+                balances.remove(command.key);
+            }
+
+            long balance = balances.get(command.key, MISSING);
+            if (balance == MISSING) {
+                balance = loadBalance(command.accountNumber);
+                balances.put(command.key, balance);
+            }
+            if (balance == NOT_ACTIVE) {
+                throw new AccountNotActiveException("Cannot post to non-active account: " + command.accountNumber);
+            }
+
+            long newBalance = command.type == TransactionType.DEPOSIT
+                ? balance + command.amount
+                : balance - command.amount;
+            if (newBalance < 0) {
+                throw new InsufficientFundsException(
+                    "Insufficient balance. Available: " + toDecimal(balance) + ", Requested: " + toDecimal(command.amount));
+            }
+            if (newBalance > MAX_BALANCE) {
+                throw new IllegalArgumentException("Balance would exceed the maximum for account: " + command.accountNumber);
+            }
+
+            Transaction transaction = new Transaction(command.accountNumber, command.type,
+                toDecimal(command.amount), toDecimal(newBalance), command.description);
+            transaction.setTransactionDate(LocalDateTime.now());
+            transaction.setIdempotencyKey(command.idempotencyKey);
+
+            enqueueForPersistence(transaction);
+            balances.put(command.key, newBalance);
+            command.result.complete(transaction);
+        }
+
+        private void fence(Command command) {
+            // The direct posting reads the database, so everything acknowledged must be in it
+            awaitPersisted();
+            balances.remove(command.key);
+            if (!stale.isEmpty()) {
+                stale.remove(command.key); // reloaded after the release anyway
+            }
+            fenced.putIfAbsent(command.key, new ArrayDeque<>());
+            command.result.complete(null);
+        }
+
+        /**
+         * Wait until everything this shard acknowledged has been persisted (or dead-lettered)
+         */
+        private void awaitPersisted() {
+            long target = acknowledgedSequence;
+            long deadline = System.nanoTime() + fenceTimeout.toNanos();
+            while (persistedSequences.get(index) < target) {
+                if (!persisting) {
+                    throw new PostingEngineUnavailableException("Ledger engine is not persisting");
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    throw new PostingEngineUnavailableException(
+                        "Ledger persistence did not catch up within " + fenceTimeout);
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+
+        private void release(Command command) {
+            ArrayDeque<Command> waiting = fenced.remove(command.key);
+            command.result.complete(null);
+            if (waiting != null) {
+                for (Command posting : waiting) {
+                    handle(posting);
+                }
+            }
+        }
+
+        private long loadBalance(String accountNumber) {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+            if (account.getStatus() != AccountStatus.ACTIVE) {
+                return NOT_ACTIVE;
+            }
+            return toMinorUnits(account.getBalance());
+        }
+
+        private void enqueueForPersistence(Transaction transaction) {
+            try {
+                // Blocks when the persister is behind, which backs the ring up to the producers
+                persistQueue.put(new Acknowledged(index, acknowledgedSequence + 1, transaction));
+                acknowledgedSequence++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PostingEngineUnavailableException("Interrupted while queueing a posting for persistence", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.springmvc.SpringBank.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer
+ *
+ * Each slot carries a sequence number (Vyukov's bounded queue): producers claim a position with
+ * one CAS and publish the element by advancing the slot sequence; the consumer reads slots in
+ * position order, so elements come out in the order their positions were claimed.
+ */
+final class LedgerRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong producerPosition = new AtomicLong();
+
+    // Only touched by the consumer thread
+    private long consumerPosition;
+
+    LedgerRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element; safe to call from any thread
+     *
+     * @return false when the buffer is full
+     */
+    boolean offer(E element) {
+        long position = producerPosition.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = producerPosition.get();
+            } else if (difference < 0) {
+                return false; // the slot still holds an element from the previous lap
+            } else {
+                position = producerPosition.get(); // another producer claimed it first
+            }
+        }
+        elements[index] = element;
+        sequences.set(index, position + 1); // publishes the element to the consumer
+        return true;
+    }
+
+    /**
+     * Take the next element; must only be called from the consumer thread
+     *
+     * @return null when the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        int index = (int) (consumerPosition & mask);
+        if (sequences.get(index) != consumerPosition + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.set(index, consumerPosition + mask + 1); // hands the slot back to producers
+        consumerPosition++;
+        return element;
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (consumerPosition & mask)) != consumerPosition + 1;
+    }
+}
@@ -0,0 +1,118 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.config.CacheConfig;
+import com.springmvc.SpringBank.entity.PostingDeadLetter;
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.exception.AccountNotFoundException;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import com.springmvc.SpringBank.repository.PostingDeadLetterRepository;
+import com.springmvc.SpringBank.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists postings that a PostingEngine has already acknowledged
+ *
+ * One database transaction per batch: the transaction rows plus one net balance and count
+ * update per account. The cached accounts are evicted after the commit.
+ *
+ * A batch that keeps failing can be rewritten with writeIsolating(), one posting per
+ * transaction, so a single bad posting ends up in posting_dead_letters instead of blocking
+ * every posting behind it.
+ */
+@Component
+public class PostingBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingBatchWriter.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PostingDeadLetterRepository postingDeadLetterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Write a batch of acknowledged postings, given in the order they were accepted
+     */
+    public void write(List<Transaction> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+
+        Map<String, BigDecimal> deltas = new LinkedHashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (Transaction posting : postings) {
+            BigDecimal delta = posting.getTransactionType() == TransactionType.DEPOSIT
+                ? posting.getAmount()
+                : posting.getAmount().negate();
+            deltas.merge(posting.getAccountNumber(), delta, BigDecimal::add);
+            counts.merge(posting.getAccountNumber(), 1, Integer::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            deltas.forEach((accountNumber, delta) -> {
+                if (accountRepository.applyAcknowledgedDelta(accountNumber, delta, counts.get(accountNumber), now) == 0) {
+                    throw new AccountNotFoundException("Account not found: " + accountNumber);
+                }
+            });
+            transactionRepository.saveAll(postings);
+        });
+
+        Cache accounts = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        deltas.keySet().forEach(accounts::evict);
+
+        logger.debug("Persisted {} acknowledged postings across {} accounts", postings.size(), deltas.size());
+    }
+
+    /**
+     * Write postings one per transaction, after a batch holding them has failed repeatedly
+     * A posting that fails on its own is moved to posting_dead_letters. Postings are removed
+     * from the list once persisted or dead-lettered, so when the database itself fails part
+     * way the caller can retry with what is left.
+     *
+     * @param source PostingDeadLetter.JOURNAL or PostingDeadLetter.LEDGER
+     * @return the postings that were dead-lettered; their amounts were not applied
+     */
+    public List<Transaction> writeIsolating(List<Transaction> postings, String source) {
+        List<Transaction> deadLettered = new ArrayList<>();
+        for (Iterator<Transaction> iterator = postings.iterator(); iterator.hasNext(); ) {
+            Transaction posting = iterator.next();
+            try {
+                write(List.of(posting));
+            } catch (RuntimeException e) {
+                posting.setId(null);
+                postingDeadLetterRepository.save(new PostingDeadLetter(posting, source, String.valueOf(e.getMessage())));
+                deadLettered.add(posting);
+                logger.error("Moved {} posting of {} for account {} to the dead-letter table: {}",
+                             source, posting.getAmount(), posting.getAccountNumber(), e.getMessage(), e);
+            }
+            iterator.remove();
+        }
+        return deadLettered;
+    }
+}
@@ -0,0 +1,35 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous posting engine: acknowledges deposits and withdrawals before they reach the
+ * database and persists them downstream
+ *
+ * Implementations: PostingJournalService (springbank.journal.enabled) and LedgerEngine
+ * (springbank.ledger.enabled). At most one may be enabled; without either, TransactionService
+ * posts straight to the database.
+ */
+public interface PostingEngine {
+
+    /**
+     * Validate and acknowledge a deposit or withdrawal
+     *
+     * @param idempotencyKey the request's Idempotency-Key, or null; stored on the persisted row
+     * @return the accepted transaction; its id is assigned when it is persisted
+     */
+    Transaction post(String accountNumber, TransactionType type, BigDecimal amount, String description,
+                     String idempotencyKey);
+
+    /**
+     * Run a posting that writes to the database directly (transfer, batch, close)
+     * The engine makes sure the database is current for the given accounts before the posting
+     * runs, and that its own balance views do not go stale because of it.
+     * The caller must hold the locks of those accounts (AccountLockManager).
+     */
+    <T> T runDirect(Supplier<T> posting, String... accountNumbers);
+}
@@ -0,0 +1,345 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.TransactionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped, checksummed append-only journal of postings
+ *
+ * File layout: a fixed header (magic, format version) followed by records of
+ *
+ *   int length | int crc32c | payload[length]
+ *
+ * where the payload holds the journal sequence and the posting fields (the idempotency key is
+ * a trailing field, absent in records written before it existed). A zero length marks
+ * the end of the journal. Recovery stops at the first record that is truncated, fails its
+ * checksum or does not continue the sequence, so a torn write at a crash is simply dropped
+ * (it was never acknowledged).
+ *
+ * Records are drained in sequence order straight from the mapped file: the drainer reads a
+ * batch, persists it, then marks it drained. Once every record has been drained the journal
+ * is reset to empty, so the file only needs room for the postings in flight at one time.
+ */
+public class PostingJournal implements Closeable {
+
+    private static final int MAGIC = 0x53424A4C; // "SBJL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_HEADER_SIZE = 8;
+    // String fields are stored with an unsigned short length, decimal digits with an unsigned byte
+    static final int MAX_FIELD_BYTES = 0xFFFF;
+    private static final int MAX_DECIMAL_BYTES = 0xFF;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean forceOnAppend;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+
+    private int writePosition = HEADER_SIZE;
+    private int readPosition = HEADER_SIZE;
+    private long lastSequence;
+
+    public PostingJournal(Path path, int capacity, boolean forceOnAppend) throws IOException {
+        if (capacity <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal capacity too small: " + capacity);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.forceOnAppend = forceOnAppend;
+
+        if (buffer.getInt(0) == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.force();
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("Not a posting journal (or unsupported version): " + path);
+        }
+    }
+
+    /**
+     * Read every valid record and position the writer after the last one
+     * Must be called once, before the first append
+     *
+     * @param minimumSequence sequences handed out later start above this value, so they keep
+     *                        increasing even when the journal is empty
+     */
+    public List<Transaction> recover(long minimumSequence) {
+        lock.lock();
+        try {
+            List<Transaction> records = new ArrayList<>();
+            int position = HEADER_SIZE;
+            long previous = 0;
+
+            while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(position + RECORD_HEADER_SIZE, length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+
+                Transaction record;
+                try {
+                    record = decode(payload);
+                } catch (RuntimeException e) {
+                    break; // checksum matched but the payload does not parse: treat as the end
+                }
+                if (record.getJournalSequence() <= previous) {
+                    break; // left over from before the last reset
+                }
+
+                records.add(record);
+                previous = record.getJournalSequence();
+                position += RECORD_HEADER_SIZE + length;
+            }
+
+            writePosition = position;
+            readPosition = HEADER_SIZE;
+            lastSequence = Math.max(previous, minimumSequence);
+            terminate();
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append a posting, assigning it the next journal sequence
+     * The record is durable once this returns (forced to disk when force-on-append is set)
+     *
+     * @return false when the journal has no room left; nothing is written in that case
+     * @throws IllegalArgumentException when a field does not fit the record format; nothing is
+     *                                  written in that case either
+     */
+    public boolean append(Transaction transaction) {
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            byte[] payload = encode(sequence, transaction);
+            int recordSize = RECORD_HEADER_SIZE + payload.length;
+            if (writePosition + recordSize + 4 > buffer.capacity()) {
+                return false;
+            }
+
+            crc.reset();
+            crc.update(payload);
+            buffer.put(writePosition + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(writePosition + 4, (int) crc.getValue());
+            int start = writePosition;
+            writePosition += recordSize;
+            terminate();
+            // Length last, so a record is never visible before its payload and checksum
+            buffer.putInt(start, payload.length);
+
+            if (forceOnAppend) {
+                buffer.force(start, recordSize + 4);
+            }
+
+            lastSequence = sequence;
+            transaction.setJournalSequence(sequence);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read up to maxRecords records that have not been marked drained yet, oldest first
+     */
+    public Batch read(int maxRecords) {
+        lock.lock();
+        try {
+            List<Transaction> records = new ArrayList<>();
+            int position = readPosition;
+            while (position < writePosition && records.size() < maxRecords) {
+                int length = buffer.getInt(position);
+                records.add(decode(buffer.slice(position + RECORD_HEADER_SIZE, length)));
+                position += RECORD_HEADER_SIZE + length;
+            }
+            return new Batch(records, position);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mark a batch returned by read() as persisted
+     * Resets the journal to empty when nothing is left to drain
+     */
+    public void markDrained(Batch batch) {
+        lock.lock();
+        try {
+            readPosition = batch.endPosition;
+            if (readPosition == writePosition && writePosition != HEADER_SIZE) {
+                readPosition = HEADER_SIZE;
+                writePosition = HEADER_SIZE;
+                terminate();
+                buffer.force(HEADER_SIZE, 4);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean hasUndrained() {
+        lock.lock();
+        try {
+            return readPosition < writePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records read from the journal, and where the next read starts once they are drained
+     */
+    public static final class Batch {
+
+        private final List<Transaction> records;
+        private final int endPosition;
+
+        private Batch(List<Transaction> records, int endPosition) {
+            this.records = records;
+            this.endPosition = endPosition;
+        }
+
+        public List<Transaction> getRecords() {
+            return records;
+        }
+
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+
+    private void terminate() {
+        if (writePosition + 4 <= buffer.capacity()) {
+            buffer.putInt(writePosition, 0);
+        }
+    }
+
+    private static byte[] encode(long sequence, Transaction transaction) {
+        byte[] accountNumber = field("Account number", transaction.getAccountNumber());
+        byte[] description = field("Description", transaction.getDescription());
+        byte[] amount = digits("Amount", transaction.getAmount());
+        byte[] balanceAfter = digits("Balance", transaction.getBalanceAfter());
+        byte[] idempotencyKey = field("Idempotency key", transaction.getIdempotencyKey());
+        LocalDateTime date = transaction.getTransactionDate();
+
+        ByteBuffer out = ByteBuffer.allocate(8 + 8 + 4 + 1
+            + 2 + accountNumber.length
+            + 4 + 1 + amount.length
+            + 4 + 1 + balanceAfter.length
+            + 2 + description.length
+            + 2 + idempotencyKey.length);
+        out.putLong(sequence);
+        out.putLong(date.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(date.getNano());
+        out.put((byte) transaction.getTransactionType().ordinal());
+        out.putShort((short) accountNumber.length).put(accountNumber);
+        out.putInt(transaction.getAmount().scale()).put((byte) amount.length).put(amount);
+        out.putInt(transaction.getBalanceAfter().scale()).put((byte) balanceAfter.length).put(balanceAfter);
+        out.putShort((short) description.length).put(description);
+        out.putShort((short) idempotencyKey.length).put(idempotencyKey);
+        return out.array();
+    }
+
+    private static byte[] field(String name, String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_FIELD_BYTES) {
+            throw new IllegalArgumentException(name + " is too long for the posting journal: " + bytes.length 
+                + " bytes (at most " + MAX_FIELD_BYTES + ")");
+        }
+        return bytes;
+    }
+
+    private static byte[] digits(String name, BigDecimal value) {
+        byte[] bytes = value.unscaledValue().toByteArray();
+        if (bytes.length > MAX_DECIMAL_BYTES) {
+            throw new IllegalArgumentException(name + " is too large for the posting journal: " + value);
+        }
+        return bytes;
+    }
+
+    private static Transaction decode(ByteBuffer in) {
+        long sequence = in.getLong();
+        LocalDateTime date = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        TransactionType type = TransactionType.values()[in.get()];
+        String accountNumber = new String(bytes(in, in.getShort() & 0xFFFF), StandardCharsets.UTF_8);
+        BigDecimal amount = decimal(in);
+        BigDecimal balanceAfter = decimal(in);
+        String description = new String(bytes(in, in.getShort() & 0xFFFF), StandardCharsets.UTF_8);
+        String idempotencyKey = in.hasRemaining()
+            ? new String(bytes(in, in.getShort() & 0xFFFF), StandardCharsets.UTF_8)
+            : "";
+
+        Transaction transaction = new Transaction(accountNumber, type, amount, balanceAfter, description);
+        transaction.setTransactionDate(date);
+        transaction.setJournalSequence(sequence);
+        transaction.setIdempotencyKey(idempotencyKey.isEmpty() ? null : idempotencyKey);
+        return transaction;
+    }
+
+    private static BigDecimal decimal(ByteBuffer in) {
+        int scale = in.getInt();
+        return new BigDecimal(new BigInteger(bytes(in, in.get() & 0xFF)), scale);
+    }
+
+    private static byte[] bytes(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,342 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Account;
+import com.springmvc.SpringBank.entity.PostingDeadLetter;
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.AccountStatus;
+import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.exception.AccountNotActiveException;
+import com.springmvc.SpringBank.exception.AccountNotFoundException;
+import com.springmvc.SpringBank.exception.InsufficientFundsException;
+import com.springmvc.SpringBank.exception.PostingEngineUnavailableException;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import com.springmvc.SpringBank.repository.PostingDeadLetterRepository;
+import com.springmvc.SpringBank.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-ahead journal mode for deposits and withdrawals (springbank.journal.enabled=true)
+ *
+ * A posting is validated against an in-memory balance view, appended to the memory-mapped
+ * {@link PostingJournal} and acknowledged, without waiting for a database commit. A background
+ * drainer reads the journal in sequence order and persists it in batches through the
+ * PostingBatchWriter.
+ *
+ * Every drained row carries its journal sequence (unique column), so at startup the journal is
+ * replayed from the highest sequence already in the database and nothing is applied twice. The
+ * replay finishes before the service accepts postings, so balance views are always loaded from
+ * an up-to-date database.
+ *
+ * Postings are checked against the column limits (description length, balance precision)
+ * before they are journaled. Should a batch still fail drain-max-attempts times in a row, it is
+ * drained one posting at a time and the postings that fail on their own are moved to
+ * posting_dead_letters, so one bad record cannot stall the journal.
+ *
+ * post() takes the account lock (AccountLockManager) itself; callers of runDirect() hold the
+ * locks of the accounts involved. Reads of
+ * transaction history and account balances trail the acknowledged postings by at most one
+ * drain cycle. The journal must sit next to a persistent database; with the in-memory H2
+ * default a restart loses the accounts the journal refers to.
+ *
+ * Single node only: balance views live in this process and drained postings are applied
+ * without a balance guard (AccountRepository.applyAcknowledgedDelta), so a second instance
+ * posting to the same accounts would overdraw them. Startup fails unless
+ * springbank.posting.single-writer=true confirms this is the only instance writing.
+ */
+@Service
+@ConditionalOnProperty(name = "springbank.journal.enabled", havingValue = "true")
+public class PostingJournalService implements PostingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingJournalService.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PostingDeadLetterRepository postingDeadLetterRepository;
+
+    @Autowired
+    private PostingBatchWriter postingBatchWriter;
+
+    @Autowired
+    private AccountLockManager accountLockManager;
+
+    @Value("${springbank.posting.single-writer:false}")
+    private boolean singleWriter;
+
+    @Value("${springbank.journal.path:data/posting-journal.dat}")
+    private Path path;
+
+    @Value("${springbank.journal.capacity:64MB}")
+    private DataSize capacity;
+
+    @Value("${springbank.journal.force-on-append:true}")
+    private boolean forceOnAppend;
+
+    @Value("${springbank.journal.drain-batch-size:500}")
+    private int drainBatchSize;
+
+    @Value("${springbank.journal.drain-interval:10ms}")
+    private Duration drainInterval;
+
+    @Value("${springbank.journal.drain-max-attempts:3}")
+    private int drainMaxAttempts;
+
+    // Balances of active accounts as of the last acknowledged posting
+    private final Map<String, BigDecimal> balances = new ConcurrentHashMap<>();
+    // Accounts whose balance view counts a posting that was dead-lettered; reloaded on next use
+    private final Set<String> staleBalances = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Condition drained = drainLock.newCondition();
+
+    private PostingJournal journal;
+    private long replayFloor;
+    private volatile long drainedSequence;
+    private volatile boolean running;
+    private Thread drainer;
+    // Consecutive failures of the batch at the head of the journal (replay, then drainer thread)
+    private int failedAttempts;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!singleWriter) {
+            throw new IllegalStateException("Journal mode keeps balances in memory and is only safe with a single "
+                + "instance writing to the database; set springbank.posting.single-writer=true to confirm");
+        }
+        journal = new PostingJournal(path, Math.toIntExact(capacity.toBytes()), forceOnAppend);
+
+        replayFloor = findPersistedSequence();
+        List<Transaction> recovered = journal.recover(replayFloor);
+        drainedSequence = replayFloor;
+
+        // Replay synchronously so balance views never load a database that is behind the journal
+        while (true) {
+            try {
+                if (!drainOnce()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                if (++failedAttempts > drainMaxAttempts) {
+                    throw e; // even the one-by-one drain failed: the database is not usable
+                }
+                logger.warn("Failed to replay posting journal (attempt {}); retrying", failedAttempts, e);
+            }
+        }
+        logger.info("Posting journal ready: {} ({} records recovered, replayed from sequence {})",
+                    path.toAbsolutePath(), recovered.size(), replayFloor);
+
+        running = true;
+        drainer = Thread.ofPlatform().name("posting-journal-drainer").daemon(true).start(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+        logger.info("Posting journal closed at sequence {}", drainedSequence);
+    }
+
+    /**
+     * Validate, journal and acknowledge a deposit or withdrawal under the account lock
+     *
+     * @return the accepted transaction; its id is assigned when it is drained to the database
+     */
+    @Override
+    public Transaction post(String accountNumber, TransactionType type, BigDecimal amount, String description,
+                            String idempotencyKey) {
+        return accountLockManager.withLock(accountNumber, 
+            () -> journal(accountNumber, type, amount, description, idempotencyKey));
+    }
+
+    private Transaction journal(String accountNumber, TransactionType type, BigDecimal amount, String description,
+                                String idempotencyKey) {
+        // Anything the transactions table cannot hold would fail every drain of its batch
+        if (description != null && description.length() > Transaction.MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException(
+                "Description must be at most " + Transaction.MAX_DESCRIPTION_LENGTH + " characters");
+        }
+
+        BigDecimal balance = balances.get(accountNumber);
+        if (!staleBalances.isEmpty() && staleBalances.remove(accountNumber)) {
+            // The database is only current for this account once the journal is drained
+            awaitDrained();
+            balance = null;
+        }
+        if (balance == null) {
+            balance = loadBalance(accountNumber);
+        }
+
+        BigDecimal newBalance = type == TransactionType.DEPOSIT ? balance.add(amount) : balance.subtract(amount);
+        if (newBalance.signum() < 0) {
+            throw new InsufficientFundsException(
+                "Insufficient balance. Available: " + balance + ", Requested: " + amount);
+        }
+        if (newBalance.compareTo(Account.MAX_BALANCE) > 0) {
+            throw new IllegalArgumentException("Balance would exceed the maximum for account: " + accountNumber);
+        }
+
+        Transaction transaction = new Transaction(accountNumber, type, amount, newBalance, description);
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setIdempotencyKey(idempotencyKey);
+
+        if (!journal.append(transaction)) {
+            // Journal full: wait for the drainer to empty it, then try once more
+            awaitDrained();
+            if (!journal.append(transaction)) {
+                throw new PostingEngineUnavailableException("Posting journal is full");
+            }
+        }
+
+        balances.put(accountNumber, newBalance);
+        logger.debug("Journaled {} {} for account: {} (sequence {})",
+                     type, amount, accountNumber, transaction.getJournalSequence());
+        return transaction;
+    }
+
+    /**
+     * Run a posting that writes to the database directly (transfer, batch, close)
+     * Waits until the journal is drained so the database is current, then drops the balance
+     * views of the accounts involved so the next journaled posting reloads them.
+     * The caller must hold the locks of those accounts.
+     */
+    @Override
+    public <T> T runDirect(Supplier<T> posting, String... accountNumbers) {
+        awaitDrained();
+        T result = posting.get();
+        for (String accountNumber : accountNumbers) {
+            balances.remove(accountNumber);
+        }
+        return result;
+    }
+
+    /**
+     * Block until every posting journaled so far has been persisted
+     */
+    public void awaitDrained() {
+        long target = journal.getLastSequence();
+        drainLock.lock();
+        try {
+            while (drainedSequence < target) {
+                if (!running) {
+                    throw new PostingEngineUnavailableException("Posting journal is not draining");
+                }
+                LockSupport.unpark(drainer);
+                drained.await(drainInterval.toMillis() + 100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PostingEngineUnavailableException("Interrupted while waiting for the posting journal to drain", e);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private BigDecimal loadBalance(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("Cannot post to non-active account: " + accountNumber);
+        }
+        return account.getBalance();
+    }
+
+    /**
+     * Highest journal sequence already in the database, drained or dead-lettered
+     */
+    private long findPersistedSequence() {
+        return Math.max(transactionRepository.findMaxJournalSequence(),
+                        postingDeadLetterRepository.findMaxJournalSequence());
+    }
+
+    private void drainLoop() {
+        while (running || journal.hasUndrained()) {
+            try {
+                if (!drainOnce()) {
+                    LockSupport.parkNanos(drainInterval.toNanos());
+                }
+            } catch (RuntimeException e) {
+                // Nothing is lost: the batch stays in the journal and is retried, one posting
+                // at a time once it has failed drain-max-attempts times
+                failedAttempts++;
+                logger.error("Failed to drain posting journal (attempt {}); retrying", failedAttempts, e);
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+    }
+
+    /**
+     * Persist the next batch of journal records
+     *
+     * @return false when there was nothing to drain
+     */
+    private boolean drainOnce() {
+        PostingJournal.Batch batch = journal.read(drainBatchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        if (failedAttempts >= drainMaxAttempts) {
+            // A failed one-by-one drain may have persisted part of the batch already
+            replayFloor = Math.max(replayFloor, findPersistedSequence());
+        }
+
+        // Records at or below the floor were persisted (or dead-lettered) before
+        List<Transaction> records = batch.getRecords().stream()
+            .filter(record -> record.getJournalSequence() > replayFloor)
+            .toList();
+
+        if (failedAttempts < drainMaxAttempts) {
+            postingBatchWriter.write(records);
+        } else {
+            List<Transaction> deadLettered = 
+                postingBatchWriter.writeIsolating(new ArrayList<>(records), PostingDeadLetter.JOURNAL);
+            deadLettered.forEach(posting -> staleBalances.add(posting.getAccountNumber()));
+            logger.warn("Drained a failing journal batch one posting at a time: {} of {} dead-lettered",
+                        deadLettered.size(), records.size());
+        }
+        failedAttempts = 0;
+
+        journal.markDrained(batch);
+        List<Transaction> all = batch.getRecords();
+        drainLock.lock();
+        try {
+            drainedSequence = all.get(all.size() - 1).getJournalSequence();
+            drained.signalAll();
+        } finally {
+            drainLock.unlock();
+        }
+
+        logger.debug("Drained {} journaled postings", records.size());
+        return true;
+    }
+}
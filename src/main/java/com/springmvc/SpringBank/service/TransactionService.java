@@ -1,20 +1,46 @@
 package com.springmvc.SpringBank.service;
 
+import com.springmvc.SpringBank.config.CacheConfig;
+import com.springmvc.SpringBank.dto.BatchPostingItem;
+import com.springmvc.SpringBank.dto.BatchPostingResult;
+import com.springmvc.SpringBank.dto.TransactionCursor;
+import com.springmvc.SpringBank.dto.TransactionPageResponse;
+import com.springmvc.SpringBank.dto.TransactionResponse;
 import com.springmvc.SpringBank.entity.Account;
 import com.springmvc.SpringBank.entity.Transaction;
 import com.springmvc.SpringBank.enums.AccountStatus;
 import com.springmvc.SpringBank.enums.TransactionType;
-import com.springmvc.SpringBank.exception.InsufficientFundsException;
+import com.springmvc.SpringBank.exception.AccountNotActiveException;
 import com.springmvc.SpringBank.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service class for Transaction management
@@ -26,35 +52,72 @@ public class TransactionService {
     
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
     
+    // Largest history page served in one request, whatever the client asks for
+    public static final int MAX_PAGE_SIZE = 500;
+    
     @Autowired
     private TransactionRepository transactionRepository;
     
     @Autowired
     private AccountService accountService;
     
+    @Autowired
+    private AccountLockManager accountLockManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private BankingMetrics bankingMetrics;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    // Present only in journal or ledger mode (springbank.journal.enabled / springbank.ledger.enabled)
+    @Autowired(required = false)
+    private PostingEngine postingEngine;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Idempotent postings being processed on this instance, by Idempotency-Key
+    private final ConcurrentHashMap<String, CompletableFuture<TransactionResponse>> idempotentPostings = 
+        new ConcurrentHashMap<>();
+    
     /**
      * ASSESSMENT REQUIREMENT 6: Deposit Cash
      * "Accepts account number and deposit amount, and updates the balance"
+     * 
+     * Runs outside the caller's transaction: the account lock must be held until
+     * the posting transaction has committed, so the transaction is opened inside it
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Transaction deposit(String accountNumber, BigDecimal amount, String description) {
-        logger.info("Processing deposit: {} to account: {}", amount, accountNumber);
+        return deposit(accountNumber, amount, description, null);
+    }
+    
+    private Transaction deposit(String accountNumber, BigDecimal amount, String description, String idempotencyKey) {
+        logger.debug("Processing deposit: {} to account: {}", amount, accountNumber);
         
         // Validate input parameters
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be greater than zero");
         }
+        validateDescription(description, Transaction.MAX_DESCRIPTION_LENGTH);
         
-        // Validate account exists and is active
-        Account account = accountService.findByAccountNumber(accountNumber);
-        if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new IllegalStateException("Cannot deposit to non-active account: " + accountNumber);
+        if (postingEngine != null) {
+            return executeEnginePosting(BankingMetrics.DEPOSIT, accountNumber, TransactionType.DEPOSIT, 
+                amount, description != null ? description : "Cash deposit", idempotencyKey);
         }
         
-        // Calculate new balance
-        BigDecimal newBalance = account.getBalance().add(amount);
-        
-        // Update account balance
-        accountService.updateBalance(accountNumber, newBalance);
+        return executePosting(BankingMetrics.DEPOSIT, accountNumber, 
+            () -> postDeposit(accountNumber, amount, description, idempotencyKey));
+    }
+    
+    private Transaction postDeposit(String accountNumber, BigDecimal amount, String description, 
+                                    String idempotencyKey) {
+        // Guarded single-statement update: rejects missing and non-active accounts
+        BigDecimal newBalance = accountService.applyBalanceDelta(accountNumber, amount);
         
         // Create transaction record
         Transaction transaction = new Transaction(
@@ -64,46 +127,50 @@ public class TransactionService {
             newBalance,
             description != null ? description : "Cash deposit"
         );
+        transaction.setIdempotencyKey(idempotencyKey);
         
         Transaction savedTransaction = transactionRepository.save(transaction);
         
-        logger.info("Deposit completed successfully: {} | Account: {} | New balance: {}", 
-                   savedTransaction.getId(), accountNumber, newBalance);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deposit completed successfully: {} | Account: {} | New balance: {}", 
+                       savedTransaction.getId(), accountNumber, newBalance);
+        }
         return savedTransaction;
     }
     
     /**
      * ASSESSMENT REQUIREMENT 7: Withdraw Cash
      * "Accepts account number and withdrawal amount, and updates the balance"
+     * 
+     * Same locking and transaction handling as deposit
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Transaction withdraw(String accountNumber, BigDecimal amount, String description) {
-        logger.info("Processing withdrawal: {} from account: {}", amount, accountNumber);
+        return withdraw(accountNumber, amount, description, null);
+    }
+    
+    private Transaction withdraw(String accountNumber, BigDecimal amount, String description, String idempotencyKey) {
+        logger.debug("Processing withdrawal: {} from account: {}", amount, accountNumber);
         
         // Validate input parameters
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be greater than zero");
         }
+        validateDescription(description, Transaction.MAX_DESCRIPTION_LENGTH);
         
-        // Validate account exists and is active
-        Account account = accountService.findByAccountNumber(accountNumber);
-        if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new IllegalStateException("Cannot withdraw from non-active account: " + accountNumber);
-        }
-        
-        // Check sufficient funds
-        if (account.getBalance().compareTo(amount) < 0) {
-            logger.warn("Insufficient funds for withdrawal: Account: {} | Available: {} | Requested: {}", 
-                       accountNumber, account.getBalance(), amount);
-            throw new InsufficientFundsException(
-                "Insufficient balance. Available: " + account.getBalance() + ", Requested: " + amount
-            );
+        if (postingEngine != null) {
+            return executeEnginePosting(BankingMetrics.WITHDRAW, accountNumber, TransactionType.WITHDRAWAL, 
+                amount, description != null ? description : "Cash withdrawal", idempotencyKey);
         }
         
-        // Calculate new balance
-        BigDecimal newBalance = account.getBalance().subtract(amount);
-        
-        // Update account balance
-        accountService.updateBalance(accountNumber, newBalance);
+        return executePosting(BankingMetrics.WITHDRAW, accountNumber, 
+            () -> postWithdrawal(accountNumber, amount, description, idempotencyKey));
+    }
+    
+    private Transaction postWithdrawal(String accountNumber, BigDecimal amount, String description, 
+                                       String idempotencyKey) {
+        // Guarded single-statement update: also rejects the withdrawal when funds are insufficient
+        BigDecimal newBalance = accountService.applyBalanceDelta(accountNumber, amount.negate());
         
         // Create transaction record
         Transaction transaction = new Transaction(
@@ -113,46 +180,465 @@ public class TransactionService {
             newBalance,
             description != null ? description : "Cash withdrawal"
         );
+        transaction.setIdempotencyKey(idempotencyKey);
         
         Transaction savedTransaction = transactionRepository.save(transaction);
         
-        logger.info("Withdrawal completed successfully: {} | Account: {} | New balance: {}", 
-                   savedTransaction.getId(), accountNumber, newBalance);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Withdrawal completed successfully: {} | Account: {} | New balance: {}", 
+                       savedTransaction.getId(), accountNumber, newBalance);
+        }
         return savedTransaction;
     }
     
     /**
-     * Get transaction history for an account
-     * Returns all transactions ordered by date (newest first)
+     * Deposit or withdrawal that is applied at most once per Idempotency-Key
+     * A retry with the same key gets the original response back instead of a second posting.
+     * 
+     * A first attempt costs no extra database round trip: the key is checked against the
+     * in-memory index (O(1)) and the unique idempotency_key column rejects a duplicate that has
+     * already left the index, in which case the original row is looked up. Retries racing on
+     * this instance wait for the attempt in flight instead of posting.
+     * In journal or ledger mode rows reach the database only after they are acknowledged, so
+     * the unique column cannot stop a duplicate in time; there an index miss is followed by a
+     * lookup of the key in the database.
+     * 
+     * @throws IllegalArgumentException when the key was used for a different posting
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransactionResponse postIdempotent(String idempotencyKey, TransactionType type, String accountNumber, 
+                                              BigDecimal amount, String description) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() 
+                || idempotencyKey.length() > Transaction.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " 
+                + Transaction.MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        if (type != TransactionType.DEPOSIT && type != TransactionType.WITHDRAWAL) {
+            throw new IllegalArgumentException("Transaction type must be DEPOSIT or WITHDRAWAL");
+        }
+        
+        Cache index = cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS);
+        TransactionResponse original = index.get(idempotencyKey, TransactionResponse.class);
+        if (original != null) {
+            return replay(original, idempotencyKey, type, accountNumber, amount);
+        }
+        
+        CompletableFuture<TransactionResponse> attempt = new CompletableFuture<>();
+        CompletableFuture<TransactionResponse> inFlight = idempotentPostings.putIfAbsent(idempotencyKey, attempt);
+        if (inFlight != null) {
+            try {
+                return replay(inFlight.join(), idempotencyKey, type, accountNumber, amount);
+            } catch (CompletionException e) {
+                // The attempt in flight failed; this retry gets the same answer
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        
+        try {
+            TransactionResponse response = postOnce(idempotencyKey, type, accountNumber, amount, description);
+            index.put(idempotencyKey, response);
+            attempt.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            attempt.completeExceptionally(e);
+            throw e;
+        } finally {
+            idempotentPostings.remove(idempotencyKey, attempt);
+        }
+    }
+    
+    private TransactionResponse postOnce(String idempotencyKey, TransactionType type, String accountNumber, 
+                                         BigDecimal amount, String description) {
+        if (postingEngine != null) {
+            Optional<Transaction> persisted = transactionRepository.findByIdempotencyKey(idempotencyKey);
+            if (persisted.isPresent()) {
+                return replay(TransactionResponse.from(persisted.get()), idempotencyKey, type, accountNumber, amount);
+            }
+        }
+        
+        try {
+            Transaction transaction = type == TransactionType.DEPOSIT
+                ? deposit(accountNumber, amount, description, idempotencyKey)
+                : withdraw(accountNumber, amount, description, idempotencyKey);
+            return TransactionResponse.from(transaction);
+        } catch (DataIntegrityViolationException e) {
+            // Posted earlier (now gone from the index, or by another instance): the posting above
+            // was rolled back by the unique key, so answer with the original
+            Transaction persisted = transactionRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+            logger.debug("Replaying posting for Idempotency-Key {} from the database", idempotencyKey);
+            return replay(TransactionResponse.from(persisted), idempotencyKey, type, accountNumber, amount);
+        }
+    }
+    
+    private TransactionResponse replay(TransactionResponse original, String idempotencyKey, TransactionType type, 
+                                       String accountNumber, BigDecimal amount) {
+        if (original.getTransactionType() != type 
+                || !original.getAccountNumber().equals(accountNumber) 
+                || original.getAmount().compareTo(amount) != 0) {
+            throw new IllegalArgumentException("Idempotency-Key " + idempotencyKey 
+                + " was already used for a different posting");
+        }
+        logger.debug("Replayed posting {} for Idempotency-Key {}", original.getTransactionId(), idempotencyKey);
+        return original;
+    }
+    
+    /**
+     * Transfer funds from one account to another
+     * Debits the source and credits the destination atomically, writing one TRANSFER
+     * transaction per leg. Both account locks are held until the transaction commits.
+     * 
+     * @return the debit leg followed by the credit leg
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Transaction> transfer(String fromAccountNumber, String toAccountNumber, 
+                                      BigDecimal amount, String description) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processing transfer: {} from account: {} to account: {}", 
+                       amount, fromAccountNumber, toAccountNumber);
+        }
+        
+        // Validate input parameters
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be greater than zero");
+        }
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account: " + fromAccountNumber);
+        }
+        validateDescription(description, Transaction.MAX_TRANSFER_DESCRIPTION_LENGTH);
+        
+        return bankingMetrics.recordPosting(BankingMetrics.TRANSFER, 
+            () -> accountLockManager.withLocks(fromAccountNumber, toAccountNumber, 
+                () -> runAgainstDatabase(() -> transactionTemplate.execute(
+                    status -> postTransfer(fromAccountNumber, toAccountNumber, amount, description)), 
+                    fromAccountNumber, toAccountNumber)));
+    }
+    
+    private List<Transaction> postTransfer(String fromAccountNumber, String toAccountNumber, 
+                                           BigDecimal amount, String description) {
+        BigDecimal fromBalance;
+        BigDecimal toBalance;
+        
+        // Update rows in account number order, so the database row locks of two transfers
+        // in opposite directions are always taken in the same order and cannot deadlock
+        if (fromAccountNumber.compareTo(toAccountNumber) < 0) {
+            fromBalance = accountService.applyBalanceDelta(fromAccountNumber, amount.negate());
+            toBalance = accountService.applyBalanceDelta(toAccountNumber, amount);
+        } else {
+            toBalance = accountService.applyBalanceDelta(toAccountNumber, amount);
+            fromBalance = accountService.applyBalanceDelta(fromAccountNumber, amount.negate());
+        }
+        
+        String suffix = description != null ? ": " + description : "";
+        Transaction debit = new Transaction(
+            fromAccountNumber,
+            TransactionType.TRANSFER,
+            amount,
+            fromBalance,
+            "Transfer to " + toAccountNumber + suffix
+        );
+        Transaction credit = new Transaction(
+            toAccountNumber,
+            TransactionType.TRANSFER,
+            amount,
+            toBalance,
+            "Transfer from " + fromAccountNumber + suffix
+        );
+        
+        List<Transaction> legs = transactionRepository.saveAll(List.of(debit, credit));
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Transfer completed successfully: {} -> {} | Amount: {} | Balances: {} / {}", 
+                       fromAccountNumber, toAccountNumber, amount, fromBalance, toBalance);
+        }
+        return legs;
+    }
+    
+    /**
+     * Batch posting: apply many deposits/withdrawals in one call
+     * Postings are grouped by account and each account is handled in its own transaction:
+     * one locked read of the balance, one net balance update, and the transaction rows
+     * inserted through JDBC batching. Items are applied in request order per account, and a
+     * posting that would overdraw the account is rejected without affecting the others.
+     * 
+     * @return one result per posting, in request order
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchPostingResult> postBatch(List<BatchPostingItem> postings) {
+        logger.debug("Processing batch of {} postings", postings.size());
+        
+        return bankingMetrics.recordPosting(BankingMetrics.BATCH, () -> applyBatch(postings));
+    }
+    
+    private List<BatchPostingResult> applyBatch(List<BatchPostingItem> postings) {
+        BatchPostingResult[] results = new BatchPostingResult[postings.size()];
+        Map<String, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        
+        for (int i = 0; i < postings.size(); i++) {
+            BatchPostingItem item = postings.get(i);
+            String error = validateBatchItem(item);
+            
+            if (error != null) {
+                results[i] = BatchPostingResult.rejected(i, item, error);
+            } else {
+                indexesByAccount.computeIfAbsent(item.getAccountNumber(), key -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        for (Map.Entry<String, List<Integer>> entry : indexesByAccount.entrySet()) {
+            String accountNumber = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+            
+            try {
+                List<BatchPostingResult> accountResults = accountLockManager.withLock(accountNumber, 
+                    () -> runAgainstDatabase(() -> transactionTemplate.execute(
+                        status -> postAccountBatch(accountNumber, indexes, postings)), accountNumber));
+                
+                // Only publish results once the account's transaction has committed
+                for (BatchPostingResult result : accountResults) {
+                    results[result.getIndex()] = result;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Batch postings rejected for account: {} ({} items): {}", 
+                           accountNumber, indexes.size(), e.getMessage());
+                for (Integer index : indexes) {
+                    results[index] = BatchPostingResult.rejected(index, postings.get(index), e.getMessage());
+                }
+            }
+        }
+        
+        List<BatchPostingResult> resultList = Arrays.asList(results);
+        logger.debug("Batch completed: {} postings across {} accounts", postings.size(), indexesByAccount.size());
+        return resultList;
+    }
+    
+    /**
+     * Apply all batch postings for one account inside the current transaction
+     */
+    private List<BatchPostingResult> postAccountBatch(String accountNumber, List<Integer> indexes, 
+                                                      List<BatchPostingItem> postings) {
+        Account account = accountService.findByAccountNumberForUpdate(accountNumber);
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountNotActiveException("Cannot post to non-active account: " + accountNumber);
+        }
+        
+        List<BatchPostingResult> results = new ArrayList<>(indexes.size());
+        List<Transaction> transactions = new ArrayList<>(indexes.size());
+        List<Integer> postedIndexes = new ArrayList<>(indexes.size());
+        BigDecimal openingBalance = account.getBalance();
+        BigDecimal runningBalance = openingBalance;
+        
+        for (Integer index : indexes) {
+            BatchPostingItem item = postings.get(index);
+            boolean deposit = item.getTransactionType() == TransactionType.DEPOSIT;
+            BigDecimal newBalance = deposit
+                ? runningBalance.add(item.getAmount())
+                : runningBalance.subtract(item.getAmount());
+            
+            if (newBalance.signum() < 0) {
+                results.add(BatchPostingResult.rejected(index, item, 
+                    "Insufficient balance. Available: " + runningBalance + ", Requested: " + item.getAmount()));
+                continue;
+            }
+            
+            runningBalance = newBalance;
+            transactions.add(new Transaction(
+                accountNumber,
+                item.getTransactionType(),
+                item.getAmount(),
+                newBalance,
+                item.getDescription() != null ? item.getDescription() : (deposit ? "Batch deposit" : "Batch withdrawal")
+            ));
+            postedIndexes.add(index);
+        }
+        
+        if (!transactions.isEmpty()) {
+            // Applied even when the postings net to zero, to count them
+            BigDecimal netDelta = runningBalance.subtract(openingBalance);
+            accountService.applyBalanceDelta(accountNumber, netDelta, transactions.size());
+            
+            List<Transaction> saved = transactionRepository.saveAll(transactions);
+            for (int i = 0; i < saved.size(); i++) {
+                results.add(BatchPostingResult.posted(postedIndexes.get(i), saved.get(i)));
+            }
+        }
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Posted {} of {} batch items for account: {} | New balance: {}", 
+                        transactions.size(), indexes.size(), accountNumber, runningBalance);
+        }
+        return results;
+    }
+    
+    // Rejects descriptions the transactions.description column cannot hold before anything is posted
+    private static void validateDescription(String description, int maxLength) {
+        if (description != null && description.length() > maxLength) {
+            throw new IllegalArgumentException("Description must not exceed " + maxLength + " characters");
+        }
+    }
+    
+    private String validateBatchItem(BatchPostingItem item) {
+        if (item == null) {
+            return "Posting is required";
+        }
+        if (item.getAccountNumber() == null || item.getAccountNumber().isBlank()) {
+            return "Account number is required";
+        }
+        if (item.getTransactionType() != TransactionType.DEPOSIT 
+                && item.getTransactionType() != TransactionType.WITHDRAWAL) {
+            return "Transaction type must be DEPOSIT or WITHDRAWAL";
+        }
+        if (item.getAmount() == null || item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be greater than zero";
+        }
+        if (item.getDescription() != null && item.getDescription().length() > Transaction.MAX_DESCRIPTION_LENGTH) {
+            return "Description must not exceed " + Transaction.MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        return null;
+    }
+    
+    /**
+     * Run a posting in its own transaction while holding the account lock
+     * The balance update is a single guarded statement, so the database row lock already makes
+     * it safe across instances; the striped lock keeps hot-account postings on this instance
+     * queued in memory instead of piling up on database lock waits. Timed and counted as in
+     * flight from before the lock is requested, so lock queueing shows up in the metrics
+     */
+    private Transaction executePosting(String operation, String accountNumber, Supplier<Transaction> posting) {
+        return bankingMetrics.recordPosting(operation, 
+            () -> accountLockManager.withLock(accountNumber, 
+                () -> transactionTemplate.execute(status -> posting.get())));
+    }
+    
+    /**
+     * Journal or ledger mode: the posting engine validates against its in-memory balances and
+     * acknowledges; the database write happens downstream. Each engine does its own per-account
+     * serialization (the journal takes the account lock, the ledger routes to the account's shard)
+     */
+    private Transaction executeEnginePosting(String operation, String accountNumber, TransactionType type, 
+                                             BigDecimal amount, String description, String idempotencyKey) {
+        return bankingMetrics.recordPosting(operation, 
+            () -> postingEngine.post(accountNumber, type, amount, description, idempotencyKey));
+    }
+    
+    /**
+     * Run a posting that writes to the database directly
+     * In journal or ledger mode the engine brings the database up to date for the given accounts
+     * first and drops its balance views of them; the caller must hold the locks of those accounts
+     */
+    private <T> T runAgainstDatabase(Supplier<T> posting, String... accountNumbers) {
+        if (postingEngine == null) {
+            return posting.get();
+        }
+        return postingEngine.runDirect(posting, accountNumbers);
+    }
+    
+    /**
+     * Get the most recent transactions for an account (newest first)
+     * Bounded to one keyset page so the response never grows with the history; older
+     * transactions are read with getTransactionPage or exported with streamTransactionHistory
      */
     @Transactional(readOnly = true)
-    public List<Transaction> getTransactionHistory(String accountNumber) {
-        logger.info("Retrieving transaction history for account: {}", accountNumber);
+    public List<Transaction> getTransactionHistory(String accountNumber, int size) {
+        logger.debug("Retrieving transaction history for account: {} (size: {})", accountNumber, size);
         
-        // Validate account exists
-        accountService.findByAccountNumber(accountNumber);
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
         
-        List<Transaction> transactions = transactionRepository
-            .findByAccountNumberOrderByTransactionDateDesc(accountNumber);
+        List<Transaction> transactions = bankingMetrics.record(BankingMetrics.HISTORY_READ, () -> {
+            // Validate account exists (served from the account cache)
+            accountService.findByAccountNumber(accountNumber);
+            
+            return transactionRepository.findHistoryFirstPage(accountNumber, PageRequest.of(0, pageSize));
+        });
         
-        logger.info("Found {} transactions for account: {}", transactions.size(), accountNumber);
+        logger.debug("Found {} transactions for account: {}", transactions.size(), accountNumber);
         return transactions;
     }
     
+    /**
+     * Get one page of transaction history using keyset (cursor) pagination
+     * Newest first; the cursor is the opaque token returned with the previous page.
+     * Reads one extra row to know whether another page exists, without a count query.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionPage(String accountNumber, String cursor, int size) {
+        logger.debug("Retrieving transaction page for account: {} (size: {})", accountNumber, size);
+        
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        
+        List<Transaction> rows = bankingMetrics.record(BankingMetrics.HISTORY_READ, () -> {
+            // Validate account exists (served from the account cache)
+            accountService.findByAccountNumber(accountNumber);
+            
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            if (cursor == null || cursor.isBlank()) {
+                return transactionRepository.findHistoryFirstPage(accountNumber, limit);
+            }
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            return transactionRepository.findHistoryPageAfter(
+                accountNumber, position.getTransactionDate(), position.getId(), limit);
+        });
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<Transaction> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? TransactionCursor.after(page.get(page.size() - 1)).encode() : null;
+        
+        List<TransactionResponse> transactions = page.stream()
+            .map(TransactionResponse::from)
+            .toList();
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found {} transactions for account: {} (more: {})", transactions.size(), accountNumber, hasMore);
+        }
+        return new TransactionPageResponse(transactions, transactions.size(), hasMore, nextCursor);
+    }
+    
+    /**
+     * Stream the full transaction history of an account to a consumer (statement export)
+     * Each transaction is detached once consumed, so the persistence context does not grow
+     * and memory stays flat regardless of history size
+     * 
+     * @return number of transactions streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactionHistory(String accountNumber, Consumer<Transaction> consumer) {
+        logger.debug("Streaming transaction history for account: {}", accountNumber);
+        
+        long count = bankingMetrics.record(BankingMetrics.HISTORY_EXPORT, () -> {
+            long streamed = 0;
+            try (Stream<Transaction> transactions = transactionRepository.streamByAccountNumber(accountNumber)) {
+                for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                    consumer.accept(transaction);
+                    entityManager.detach(transaction);
+                    streamed++;
+                }
+            }
+            return streamed;
+        });
+        
+        logger.debug("Streamed {} transactions for account: {}", count, accountNumber);
+        return count;
+    }
+    
     /**
      * Get recent transactions for an account (last 10)
      */
     @Transactional(readOnly = true)
     public List<Transaction> getRecentTransactions(String accountNumber) {
-        logger.info("Retrieving recent transactions for account: {}", accountNumber);
+        logger.debug("Retrieving recent transactions for account: {}", accountNumber);
         
-        // Validate account exists
+        // Validate account exists (served from the account cache)
         accountService.findByAccountNumber(accountNumber);
         
         List<Transaction> transactions = transactionRepository
             .findTop10ByAccountNumberOrderByTransactionDateDesc(accountNumber);
         
-        logger.info("Found {} recent transactions for account: {}", transactions.size(), accountNumber);
+        logger.debug("Found {} recent transactions for account: {}", transactions.size(), accountNumber);
         return transactions;
     }
     
@@ -161,16 +647,18 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByType(String accountNumber, TransactionType transactionType) {
-        logger.info("Retrieving {} transactions for account: {}", transactionType, accountNumber);
+        logger.debug("Retrieving {} transactions for account: {}", transactionType, accountNumber);
         
-        // Validate account exists
+        // Validate account exists (served from the account cache)
         accountService.findByAccountNumber(accountNumber);
         
         List<Transaction> transactions = transactionRepository
             .findByAccountNumberAndTransactionTypeOrderByTransactionDateDesc(accountNumber, transactionType);
         
-        logger.info("Found {} {} transactions for account: {}", 
-                   transactions.size(), transactionType, accountNumber);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found {} {} transactions for account: {}", 
+                       transactions.size(), transactionType, accountNumber);
+        }
         return transactions;
     }
     
@@ -181,28 +669,30 @@ public class TransactionService {
     public List<Transaction> getTransactionsByDateRange(String accountNumber, 
                                                        LocalDateTime startDate, 
                                                        LocalDateTime endDate) {
-        logger.info("Retrieving transactions for account: {} between {} and {}", 
-                   accountNumber, startDate, endDate);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Retrieving transactions for account: {} between {} and {}", 
+                       accountNumber, startDate, endDate);
+        }
         
-        // Validate account exists
+        // Validate account exists (served from the account cache)
         accountService.findByAccountNumber(accountNumber);
         
         List<Transaction> transactions = transactionRepository
             .findTransactionsByAccountAndDateRange(accountNumber, startDate, endDate);
         
-        logger.info("Found {} transactions for account: {} in date range", 
+        logger.debug("Found {} transactions for account: {} in date range", 
                    transactions.size(), accountNumber);
         return transactions;
     }
     
     /**
      * Get transaction count for an account
+     * Reads the count maintained on the account row by primary key, not COUNT(*) over the
+     * transactions table, and not the account cache, whose entry can briefly lag a posting.
+     * In journal or ledger mode it covers persisted postings only, like the history queries.
      */
     @Transactional(readOnly = true)
     public long getTransactionCount(String accountNumber) {
-        // Validate account exists
-        accountService.findByAccountNumber(accountNumber);
-        
-        return transactionRepository.countByAccountNumber(accountNumber);
+        return accountService.getTransactionCount(accountNumber);
     }
 }
\ No newline at end of file
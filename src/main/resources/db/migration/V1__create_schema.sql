@@ -0,0 +1,54 @@
+-- ===================================================================
+-- SpringBank baseline schema
+-- ===================================================================
+-- Owned by Flyway; Hibernate only validates it (spring.jpa.hibernate.ddl-auto=validate).
+-- Indexes are created before the foreign keys so H2 reuses them for the constraints
+-- instead of adding a second single-column index on every insert path.
+
+-- Pooled id sequences; INCREMENT BY is the Hibernate allocation size
+CREATE SEQUENCE customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customers (
+    id              BIGINT          NOT NULL,
+    name            VARCHAR(100)    NOT NULL,
+    email           VARCHAR(100),
+    phone           VARCHAR(20),
+    created_date    TIMESTAMP(6)    NOT NULL,
+    updated_date    TIMESTAMP(6),
+    CONSTRAINT pk_customers PRIMARY KEY (id),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE accounts (
+    account_number  VARCHAR(20)     NOT NULL,
+    customer_id     BIGINT          NOT NULL,
+    account_type    VARCHAR(20)     NOT NULL,
+    balance         NUMERIC(15, 2)  DEFAULT 0 NOT NULL,
+    status          VARCHAR(10)     DEFAULT 'ACTIVE' NOT NULL,
+    created_date    TIMESTAMP(6)    NOT NULL,
+    updated_date    TIMESTAMP(6),
+    version         BIGINT          DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_accounts PRIMARY KEY (account_number)
+);
+
+CREATE INDEX idx_accounts_customer_status ON accounts (customer_id, status);
+
+ALTER TABLE accounts ADD CONSTRAINT fk_accounts_customer
+    FOREIGN KEY (customer_id) REFERENCES customers (id);
+
+CREATE TABLE transactions (
+    id                BIGINT          NOT NULL,
+    account_number    VARCHAR(20)     NOT NULL,
+    transaction_type  VARCHAR(20)     NOT NULL,
+    amount            NUMERIC(15, 2)  NOT NULL,
+    balance_after     NUMERIC(15, 2),
+    description       VARCHAR(255),
+    transaction_date  TIMESTAMP(6)    NOT NULL,
+    CONSTRAINT pk_transactions PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_transactions_account_date ON transactions (account_number, transaction_date, id);
+
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_account
+    FOREIGN KEY (account_number) REFERENCES accounts (account_number);
@@ -0,0 +1,5 @@
+-- Postings written through the write-ahead posting journal record their journal sequence,
+-- so journal replay after a restart can skip what was already drained
+ALTER TABLE transactions ADD COLUMN journal_sequence BIGINT;
+
+CREATE UNIQUE INDEX uk_transactions_journal_sequence ON transactions (journal_sequence);
@@ -0,0 +1,5 @@
+-- Postings made with an Idempotency-Key header record the key, so a retried request is
+-- detected even after it has left the in-memory idempotency index
+ALTER TABLE transactions ADD COLUMN idempotency_key VARCHAR(64);
+
+CREATE UNIQUE INDEX uk_transactions_idempotency_key ON transactions (idempotency_key);
@@ -0,0 +1,26 @@
+-- Maintained counters, so the count endpoints read a row instead of running COUNT(*).
+-- CounterReconciliationService periodically checks them against the tables.
+
+-- Transactions posted to each account; updated in the same statement as the balance
+ALTER TABLE accounts ADD COLUMN transaction_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE accounts SET transaction_count =
+    (SELECT COUNT(*) FROM transactions t WHERE t.account_number = accounts.account_number);
+
+-- Striped global counters: writers add to a random slot so concurrent inserts do not all
+-- queue on one row lock; the value is the sum of the slots
+CREATE TABLE bank_counters (
+    counter_name    VARCHAR(50)     NOT NULL,
+    slot            INT             NOT NULL,
+    counter_value   BIGINT          DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_bank_counters PRIMARY KEY (counter_name, slot)
+);
+
+INSERT INTO bank_counters (counter_name, slot, counter_value) VALUES
+    ('customers', 0, 0), ('customers', 1, 0), ('customers', 2, 0), ('customers', 3, 0),
+    ('customers', 4, 0), ('customers', 5, 0), ('customers', 6, 0), ('customers', 7, 0),
+    ('customers', 8, 0), ('customers', 9, 0), ('customers', 10, 0), ('customers', 11, 0),
+    ('customers', 12, 0), ('customers', 13, 0), ('customers', 14, 0), ('customers', 15, 0);
+
+UPDATE bank_counters SET counter_value = (SELECT COUNT(*) FROM customers)
+    WHERE counter_name = 'customers' AND slot = 0;
@@ -0,0 +1,24 @@
+-- Acknowledged postings (journal or ledger mode) that could not be persisted even on their
+-- own. The drainer moves them here so the postings behind them keep flowing; they have to be
+-- reviewed and applied or refunded by hand. Columns are wide on purpose: whatever made the
+-- posting fail to insert into transactions must not stop it from landing here.
+CREATE SEQUENCE posting_dead_letters_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE posting_dead_letters (
+    id                BIGINT          NOT NULL,
+    source            VARCHAR(10)     NOT NULL,
+    account_number    VARCHAR(65535)  NOT NULL,
+    transaction_type  VARCHAR(20)     NOT NULL,
+    amount            NUMERIC(38, 2)  NOT NULL,
+    balance_after     NUMERIC(38, 2),
+    description       VARCHAR(65535),
+    transaction_date  TIMESTAMP(6)    NOT NULL,
+    journal_sequence  BIGINT,
+    idempotency_key   VARCHAR(65535),
+    failure           VARCHAR(1000)   NOT NULL,
+    dead_lettered_at  TIMESTAMP(6)    NOT NULL,
+    CONSTRAINT pk_posting_dead_letters PRIMARY KEY (id)
+);
+
+-- Journal replay starts above the highest sequence found here or in transactions
+CREATE INDEX idx_posting_dead_letters_journal_sequence ON posting_dead_letters (journal_sequence);
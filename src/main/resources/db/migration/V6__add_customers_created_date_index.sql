@@ -0,0 +1,3 @@
+-- The customer search index periodically loads the customers created since its previous
+-- load, so instances sharing the database see each other's new customers
+CREATE INDEX idx_customers_created_date ON customers (created_date);
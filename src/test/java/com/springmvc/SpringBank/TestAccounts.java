@@ -0,0 +1,32 @@
+package com.springmvc.SpringBank;
+
+import com.springmvc.SpringBank.entity.Account;
+import com.springmvc.SpringBank.entity.Customer;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.service.AccountService;
+import com.springmvc.SpringBank.service.CustomerService;
+import org.springframework.context.ApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * Account fixture shared by the tests and benchmarks
+ * Opens an empty account for a new customer with a unique email, so fixtures never clash
+ * with each other or with the sample data.
+ */
+public final class TestAccounts {
+
+	private TestAccounts() {
+	}
+
+	public static String open(CustomerService customerService, AccountService accountService, AccountType type) {
+		Customer customer = customerService.createCustomer(
+				"Test Customer", "test-" + UUID.randomUUID() + "@example.com", null);
+		Account account = accountService.createAccount(customer.getId(), type);
+		return account.getAccountNumber();
+	}
+
+	public static String open(ApplicationContext context, AccountType type) {
+		return open(context.getBean(CustomerService.class), context.getBean(AccountService.class), type);
+	}
+}
@@ -0,0 +1,76 @@
+package com.springmvc.SpringBank.benchmark;
+
+import com.springmvc.SpringBank.dto.CustomerImportResponse;
+import com.springmvc.SpringBank.dto.CustomerRequest;
+import com.springmvc.SpringBank.service.CustomerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Customer onboarding benchmark
+ * Creates bench.rows (default 20k) customers one at a time through createCustomer, then
+ * imports the same number through the bulk JSON and CSV paths, and reports rows/s for each.
+ *
+ *   mvn -Pbenchmark test -Dtest=CustomerImportBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerImportBenchmark {
+
+	private static final int ROWS = Integer.getInteger("bench.rows", 20_000);
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Test
+	void importCustomers() {
+		String run = UUID.randomUUID().toString().substring(0, 8);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ROWS; i++) {
+			customerService.createCustomer("Single Customer " + i, "single-" + run + "-" + i + "@example.com", null);
+		}
+		report("createCustomer loop", ROWS, System.nanoTime() - start);
+
+		List<CustomerRequest> requests = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			requests.add(new CustomerRequest("Json Customer " + i, "json-" + run + "-" + i + "@example.com", null));
+		}
+		start = System.nanoTime();
+		CustomerImportResponse json = customerService.importCustomers(requests.iterator());
+		report("bulk import (json)", ROWS, System.nanoTime() - start);
+		assertThat(json.getImported()).isEqualTo(ROWS);
+
+		StringBuilder csv = new StringBuilder("name,email,phone\n");
+		for (int i = 0; i < ROWS; i++) {
+			csv.append("Csv Customer ").append(i).append(",csv-").append(run).append('-').append(i)
+					.append("@example.com,\n");
+		}
+		start = System.nanoTime();
+		CustomerImportResponse fromCsv = customerService.importCustomersCsv(new StringReader(csv.toString()));
+		report("bulk import (csv)", ROWS, System.nanoTime() - start);
+		assertThat(fromCsv.getImported()).isEqualTo(ROWS);
+
+		// Importing the same file again rejects every row on the email check
+		CustomerImportResponse repeated = customerService.importCustomersCsv(new StringReader(csv.toString()));
+		assertThat(repeated.getImported()).isZero();
+		assertThat(repeated.getRejected()).isEqualTo(ROWS);
+	}
+
+	private static void report(String label, int rows, long elapsedNanos) {
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		System.out.printf("[benchmark] %s: rows=%d time=%.2fs throughput=%.0f rows/s%n",
+				label, rows, seconds, rows / seconds);
+	}
+}
@@ -0,0 +1,61 @@
+package com.springmvc.SpringBank.benchmark;
+
+import com.springmvc.SpringBank.entity.Customer;
+import com.springmvc.SpringBank.service.CustomerSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Customer search index lookup latency
+ * Indexes bench.customers (default 1M) synthetic customers, then reports the mean time of a
+ * 20-result search for selective and common terms.
+ *
+ *   mvn -Pbenchmark test -Dtest=CustomerSearchBenchmark
+ */
+@Tag("benchmark")
+class CustomerSearchBenchmark {
+
+	private static final int CUSTOMERS = Integer.getInteger("bench.customers", 1_000_000);
+
+	private static final int SEARCHES = 1_000;
+
+	private static final String[] FIRST_NAMES = {
+			"John", "Jane", "Alice", "Bob", "Muhammad", "Maria", "Wei", "Olga", "Pierre", "Aisha" };
+
+	@Test
+	void searchLatency() {
+		CustomerSearchIndex index = new CustomerSearchIndex(true);
+		Random random = new Random(42);
+
+		long start = System.nanoTime();
+		for (int i = 1; i <= CUSTOMERS; i++) {
+			String surname = Long.toString(random.nextLong() & 0xFFFFFFFFL, 36);
+			Customer customer = new Customer(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + surname,
+					"customer" + i + "@example.com", "555" + i);
+			customer.setId((long) i);
+			index.add(customer);
+		}
+		System.out.printf("[benchmark] customer search index: customers=%d build=%.2fs%n",
+				index.size(), (System.nanoTime() - start) / 1_000_000_000.0);
+
+		// Selective terms (one surname, one email, one phone) and a first name shared by ~10%
+		for (String term : new String[] { "customer123456@", "5559876", "john a", "zz", "aisha" }) {
+			List<Long> result = List.of();
+			for (int i = 0; i < SEARCHES; i++) {
+				result = index.search(term, 0, 20);
+			}
+			long searchStart = System.nanoTime();
+			for (int i = 0; i < SEARCHES; i++) {
+				result = index.search(term, 0, 20);
+			}
+			double micros = (System.nanoTime() - searchStart) / 1_000.0 / SEARCHES;
+			System.out.printf("[benchmark] customer search '%s': results=%d mean=%.1fus%n", term, result.size(), micros);
+			assertThat(result).isNotEmpty();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.springmvc.SpringBank.benchmark;
+
+import com.springmvc.SpringBank.SpringBankApplication;
+import com.springmvc.SpringBank.TestAccounts;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import com.springmvc.SpringBank.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deposit throughput in ledger mode (springbank.ledger.enabled=true)
+ * Runs bench.postings deposits of 1.00 from bench.threads virtual threads over bench.accounts
+ * accounts through TransactionService, reports acknowledged postings per second, then waits
+ * for the downstream persister and checks every account's database balance.
+ *
+ *   mvn -Pbenchmark test -Dtest=LedgerEngineBenchmark
+ */
+@Tag("benchmark")
+class LedgerEngineBenchmark {
+
+	private static final int POSTINGS = Integer.getInteger("bench.postings", 1_000_000);
+
+	private static final int THREADS = Integer.getInteger("bench.threads", 256);
+
+	private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 1_000);
+
+	@Test
+	void ledgerPostingThroughput() throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBankApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("prod")
+				.properties("spring.datasource.url=jdbc:h2:mem:ledger-benchmark",
+						"springbank.ledger.enabled=true",
+						"springbank.posting.single-writer=true")
+				.run()) {
+
+			TransactionService transactionService = context.getBean(TransactionService.class);
+			List<String> accountNumbers = openAccounts(context);
+
+			// Warm up JIT, shards and the persister before timing
+			deposits(transactionService, accountNumbers, POSTINGS / 10);
+
+			long start = System.nanoTime();
+			deposits(transactionService, accountNumbers, POSTINGS);
+			double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+			System.out.printf("[benchmark] ledger deposits: %d in %.2fs = %.0f postings/s (%d threads, %d accounts)%n",
+					POSTINGS, seconds, POSTINGS / seconds, THREADS, ACCOUNTS);
+
+			// Every account got the same number of 1.00 deposits (the counts divide evenly)
+			int total = POSTINGS / 10 + POSTINGS;
+			BigDecimal expected = BigDecimal.valueOf(total / ACCOUNTS);
+			AccountRepository accountRepository = context.getBean(AccountRepository.class);
+			long persistStart = System.nanoTime();
+			for (String accountNumber : accountNumbers) {
+				while (accountRepository.findBalanceByAccountNumber(accountNumber).orElseThrow().compareTo(expected) != 0) {
+					assertThat(System.nanoTime() - persistStart).isLessThan(TimeUnit.MINUTES.toNanos(5));
+					Thread.sleep(50);
+				}
+			}
+			System.out.printf("[benchmark] persister caught up %.2fs after the last acknowledgement%n",
+					(System.nanoTime() - persistStart) / 1_000_000_000.0);
+		}
+	}
+
+	private List<String> openAccounts(ConfigurableApplicationContext context) {
+		List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accountNumbers.add(TestAccounts.open(context, AccountType.SAVINGS));
+		}
+		return accountNumbers;
+	}
+
+	private void deposits(TransactionService transactionService, List<String> accountNumbers, int count)
+			throws Exception {
+		try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>(THREADS);
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				futures.add(pool.submit(() -> {
+					for (int i = thread; i < count; i += THREADS) {
+						transactionService.deposit(accountNumbers.get(i % accountNumbers.size()), BigDecimal.ONE,
+								"ledger benchmark");
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.MINUTES);
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.springmvc.SpringBank.benchmark;
+
+import com.springmvc.SpringBank.SpringBankApplication;
+import com.springmvc.SpringBank.TestAccounts;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posting throughput with the development logging setup versus the prod profile
+ * Boots the application twice, once per profile, each against its own in-memory database,
+ * and runs the same deposit workload (bench.postings over bench.threads threads and
+ * bench.accounts accounts). The development run pays for SQL echo, bind-value tracing and
+ * DEBUG request logging; the prod run logs asynchronously at INFO.
+ *
+ *   mvn -Pbenchmark test -Dtest=LoggingProfileBenchmark
+ */
+@Tag("benchmark")
+class LoggingProfileBenchmark {
+
+	private static final int POSTINGS = Integer.getInteger("bench.postings", 20_000);
+
+	private static final int THREADS = Integer.getInteger("bench.threads", 16);
+
+	private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 64);
+
+	@Test
+	void postingThroughputByLoggingProfile() throws Exception {
+		double development = run("default");
+		double production = run("prod");
+
+		System.out.printf("[benchmark] deposits with development logging: %.0f postings/s%n", development);
+		System.out.printf("[benchmark] deposits with prod profile:        %.0f postings/s (%.1fx)%n",
+				production, production / development);
+	}
+
+	private double run(String profile) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBankApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles(profile)
+				.properties("spring.datasource.url=jdbc:h2:mem:logging-" + profile)
+				.run()) {
+
+			TransactionService transactionService = context.getBean(TransactionService.class);
+			List<String> accountNumbers = openAccounts(context);
+
+			// Warm up JIT and pools before timing
+			deposits(transactionService, accountNumbers, POSTINGS / 10);
+
+			long start = System.nanoTime();
+			deposits(transactionService, accountNumbers, POSTINGS);
+			return POSTINGS / ((System.nanoTime() - start) / 1_000_000_000.0);
+		}
+	}
+
+	private List<String> openAccounts(ConfigurableApplicationContext context) {
+		List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accountNumbers.add(TestAccounts.open(context, AccountType.SAVINGS));
+		}
+		return accountNumbers;
+	}
+
+	private void deposits(TransactionService transactionService, List<String> accountNumbers, int count)
+			throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String accountNumber = accountNumbers.get(i % accountNumbers.size());
+				futures.add(pool.submit(() ->
+						transactionService.deposit(accountNumber, BigDecimal.ONE, "logging benchmark")));
+			}
+			for (Future<?> future : futures) {
+				future.get(2, TimeUnit.MINUTES);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
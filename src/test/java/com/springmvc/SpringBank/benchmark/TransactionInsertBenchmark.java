@@ -0,0 +1,92 @@
+package com.springmvc.SpringBank.benchmark;
+
+import com.springmvc.SpringBank.TestAccounts;
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.repository.TransactionRepository;
+import com.springmvc.SpringBank.service.AccountService;
+import com.springmvc.SpringBank.service.CustomerService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk insert benchmark for transaction rows
+ * Persists bench.rows (default 100k) transactions in chunks and reports throughput and the
+ * number of JDBC statements prepared. Run on this commit and its parent to compare the
+ * pooled sequence against IDENTITY ids:
+ *
+ *   mvn -Pbenchmark test -Dtest=TransactionInsertBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class TransactionInsertBenchmark {
+
+	private static final int ROWS = Integer.getInteger("bench.rows", 100_000);
+
+	private static final int CHUNK = 1_000;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	void insertTransactions() {
+		String accountNumber = TestAccounts.open(customerService, accountService, AccountType.CURRENT);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		long start = System.nanoTime();
+		for (int offset = 0; offset < ROWS; offset += CHUNK) {
+			int size = Math.min(CHUNK, ROWS - offset);
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int i = 0; i < size; i++) {
+					entityManager.persist(new Transaction(accountNumber, TransactionType.DEPOSIT,
+							BigDecimal.ONE, BigDecimal.ONE, "benchmark"));
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+		}
+		long elapsedNanos = System.nanoTime() - start;
+
+		double seconds = elapsedNanos / 1_000_000_000.0;
+		System.out.printf("[benchmark] transaction inserts: rows=%d time=%.2fs throughput=%.0f rows/s "
+						+ "preparedStatements=%d%n",
+				ROWS, seconds, ROWS / seconds, statistics.getPrepareStatementCount());
+
+		assertThat(transactionRepository.countByAccountNumber(accountNumber)).isEqualTo(ROWS);
+	}
+}
@@ -0,0 +1,129 @@
+package com.springmvc.SpringBank.benchmark;
+
+import com.springmvc.SpringBank.entity.Account;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import com.springmvc.SpringBank.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Query latency benchmark for the account/transaction access paths
+ * Seeds bench.rows transactions (default 1M; use -Dbench.rows=10000000 with a larger
+ * -DbenchmarkHeap) spread over bench.accounts accounts with plain JDBC batches, then times
+ * the repository queries that depend on the composite indexes. Run on this commit and its
+ * parent to compare with and without the indexes:
+ *
+ *   mvn -Pbenchmark test -Dtest=TransactionQueryBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionQueryBenchmark {
+
+	private static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+
+	private static final int ACCOUNTS = Integer.getInteger("bench.accounts", 1_000);
+
+	private static final int ACCOUNTS_PER_CUSTOMER = 10;
+
+	private static final long ID_OFFSET = 1_000_000_000L;
+
+	private static final int WARMUP = 20;
+
+	private static final int ITERATIONS = 200;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Test
+	void queryLatency() {
+		seed();
+
+		LocalDateTime now = LocalDateTime.now();
+		System.out.printf("[benchmark] transaction queries: rows=%d accounts=%d%n", ROWS, ACCOUNTS);
+
+		measure("countByAccountNumber", i -> transactionRepository.countByAccountNumber(accountNumber(i)));
+		measure("maintained transactionCount (findById)",
+				i -> accountRepository.findById(accountNumber(i)).map(Account::getTransactionCount));
+		measure("findTop10ByAccountNumberOrderByTransactionDateDesc",
+				i -> transactionRepository.findTop10ByAccountNumberOrderByTransactionDateDesc(accountNumber(i)));
+		measure("findTransactionsByAccountAndDateRange (7 days)",
+				i -> transactionRepository.findTransactionsByAccountAndDateRange(
+						accountNumber(i), now.minusDays(7), now));
+		measure("findHistoryFirstPage (50)",
+				i -> transactionRepository.findHistoryFirstPage(accountNumber(i), PageRequest.of(0, 50)));
+		measure("findActiveAccountsByCustomerId",
+				i -> accountRepository.findActiveAccountsByCustomerId(ID_OFFSET + i % customerCount()));
+	}
+
+	private void seed() {
+		LocalDateTime now = LocalDateTime.now();
+		Timestamp created = Timestamp.valueOf(now);
+
+		List<Object[]> customers = new ArrayList<>();
+		for (int c = 0; c < customerCount(); c++) {
+			customers.add(new Object[] {ID_OFFSET + c, "Benchmark Customer " + c, "bench" + c + "@example.com", created});
+		}
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO customers (id, name, email, created_date) VALUES (?, ?, ?, ?)", customers);
+
+		List<Object[]> accounts = new ArrayList<>();
+		for (int a = 0; a < ACCOUNTS; a++) {
+			accounts.add(new Object[] {accountNumber(a), ID_OFFSET + a / ACCOUNTS_PER_CUSTOMER,
+					a % 3 == 0 ? "CLOSED" : "ACTIVE", created});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO accounts (account_number, customer_id, account_type, balance, "
+				+ "status, created_date, version) VALUES (?, ?, 'SAVINGS', 0, ?, ?, 0)", accounts);
+
+		// Spread rows over the last year, one minute apart per account
+		List<Object[]> batch = new ArrayList<>(10_000);
+		for (int r = 0; r < ROWS; r++) {
+			batch.add(new Object[] {ID_OFFSET + r, accountNumber(r), Timestamp.valueOf(now.minusMinutes(r / ACCOUNTS))});
+			if (batch.size() == 10_000 || r == ROWS - 1) {
+				jdbcTemplate.batchUpdate("INSERT INTO transactions (id, account_number, transaction_type, amount, "
+						+ "balance_after, description, transaction_date) VALUES (?, ?, 'DEPOSIT', 1, 1, 'benchmark', ?)",
+						batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private void measure(String name, IntConsumer query) {
+		for (int i = 0; i < WARMUP; i++) {
+			query.accept(i);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			query.accept(i);
+		}
+		double micros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+
+		System.out.printf("[benchmark]   %-55s %10.1f us/query%n", name, micros);
+	}
+
+	private static int customerCount() {
+		return (ACCOUNTS + ACCOUNTS_PER_CUSTOMER - 1) / ACCOUNTS_PER_CUSTOMER;
+	}
+
+	private static String accountNumber(int index) {
+		return String.format("BNCH%016d", index % ACCOUNTS);
+	}
+}
@@ -0,0 +1,148 @@
+package com.springmvc.SpringBank.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springmvc.SpringBank.dto.CustomerResponse;
+import com.springmvc.SpringBank.entity.Customer;
+import com.springmvc.SpringBank.repository.CustomerRepository;
+import com.springmvc.SpringBank.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/customers: offset pages, keyset pages, the default first page and the streamed full listing
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CustomerControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Test
+	void offsetPagesFollowIdOrder() throws Exception {
+		createCustomers(3);
+
+		List<CustomerResponse> firstThree = read(mockMvc.perform(get("/api/customers").param("page", "0").param("size", "3"))
+				.andExpect(status().isOk())
+				.andReturn());
+		assertThat(firstThree).hasSize(3);
+		assertThat(firstThree).extracting(CustomerResponse::getId).isSorted();
+
+		// Rows 2-3 of the listing: the second page of two starts with the third customer
+		mockMvc.perform(get("/api/customers").param("page", "1").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").value(firstThree.get(2).getId()));
+	}
+
+	@Test
+	void afterIdContinuesWhereThePreviousPageEnded() throws Exception {
+		List<Customer> customers = createCustomers(3);
+		long beforeFirst = customers.get(0).getId() - 1;
+
+		List<CustomerResponse> page = read(mockMvc.perform(get("/api/customers")
+						.param("afterId", String.valueOf(beforeFirst)).param("size", "2"))
+				.andExpect(status().isOk())
+				.andReturn());
+		assertThat(page).extracting(CustomerResponse::getId)
+				.containsExactly(customers.get(0).getId(), customers.get(1).getId());
+
+		mockMvc.perform(get("/api/customers")
+						.param("afterId", String.valueOf(page.get(1).getId())).param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(customers.get(2).getId()));
+	}
+
+	@Test
+	void invalidPageParametersAreRejected() throws Exception {
+		mockMvc.perform(get("/api/customers").param("size", "0")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/customers").param("size", String.valueOf(CustomerService.MAX_PAGE_SIZE + 1)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/customers").param("page", "-1").param("size", "10"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void streamedListingIsOneJsonArrayOfEveryCustomer() throws Exception {
+		// Commas and quotes inside values must not break the array the stream writes by hand
+		String email = "stream-" + UUID.randomUUID() + "@example.com";
+		Customer tricky = customerService.createCustomer("Doe, John \"JD\"", email, "555-0101");
+		createCustomers(2);
+
+		MvcResult started = mockMvc.perform(get("/api/customers").param("stream", "true"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		MvcResult result = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/json"))
+				.andReturn();
+
+		String body = result.getResponse().getContentAsString();
+		assertThat(body).startsWith("[").endsWith("]");
+		List<CustomerResponse> customers = read(result);
+		assertThat(customers).hasSize((int) customerRepository.count());
+		assertThat(customers).extracting(CustomerResponse::getId).isSorted().doesNotHaveDuplicates();
+		assertThat(customers).filteredOn(customer -> customer.getId().equals(tricky.getId()))
+				.singleElement()
+				.satisfies(customer -> {
+					assertThat(customer.getName()).isEqualTo("Doe, John \"JD\"");
+					assertThat(customer.getEmail()).isEqualTo(email);
+				});
+	}
+
+	@Test
+	void noParametersReturnsTheFirstPage() throws Exception {
+		createCustomers(1);
+
+		List<CustomerResponse> firstPage = read(mockMvc.perform(get("/api/customers").param("page", "0").param("size", "100"))
+				.andExpect(status().isOk())
+				.andReturn());
+
+		MvcResult result = mockMvc.perform(get("/api/customers"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isOk())
+				.andReturn();
+		assertThat(read(result)).extracting(CustomerResponse::getId)
+				.containsExactlyElementsOf(firstPage.stream().map(CustomerResponse::getId).toList());
+	}
+
+	private List<Customer> createCustomers(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> customerService.createCustomer("Listing Customer " + i,
+						"listing-" + UUID.randomUUID() + "@example.com", null))
+				.toList();
+	}
+
+	private List<CustomerResponse> read(MvcResult result) throws Exception {
+		return objectMapper.readValue(result.getResponse().getContentAsString(),
+				new TypeReference<List<CustomerResponse>>() {});
+	}
+}
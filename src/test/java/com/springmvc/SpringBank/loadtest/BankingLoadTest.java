@@ -0,0 +1,299 @@
+package com.springmvc.SpringBank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end HTTP load test against the real controllers
+ * Boots the application on a random port and drives a mixed workload from load.threads
+ * client threads: customer/account creation, deposit and withdrawal storms on a few hot
+ * accounts and many cold ones, history page reads and account inquiries. After a warmup
+ * phase, latencies are recorded per operation in HdrHistogram and a fixed-format report
+ * (throughput, p50/p99/p999/max) is printed and written to load.report so runs before and
+ * after a change can be diffed:
+ *
+ *   mvn -Ploadtest test -Dload.threads=64 -Dload.durationSeconds=120
+ *
+ * Client threads are virtual, so thousands of concurrent clients fit on one box. To compare
+ * server threading modes, run the same load with virtual threads on and off:
+ *
+ *   mvn -Ploadtest test -Dload.threads=10000 -Dspring.threads.virtual.enabled=true
+ *   mvn -Ploadtest test -Dload.threads=10000 -Dspring.threads.virtual.enabled=false
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class BankingLoadTest {
+
+	private static final int THREADS = Integer.getInteger("load.threads", 32);
+
+	private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 10);
+
+	private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 60);
+
+	private static final int HOT_ACCOUNTS = Integer.getInteger("load.hotAccounts", 4);
+
+	private static final int COLD_ACCOUNTS = Integer.getInteger("load.coldAccounts", 500);
+
+	private static final String REPORT = System.getProperty("load.report", "target/loadtest/report.txt");
+
+	private static final String OPENING_BALANCE = "1000000000.00";
+
+	// Latencies above one minute are clamped; anything that slow is a failure anyway
+	private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	@Test
+	void mixedWorkload() throws Exception {
+		List<String> hotAccounts = openAccounts(HOT_ACCOUNTS);
+		List<String> coldAccounts = openAccounts(COLD_ACCOUNTS);
+
+		run(new Stats(), WARMUP_SECONDS, hotAccounts, coldAccounts);
+
+		Stats stats = new Stats();
+		long elapsedNanos = run(stats, DURATION_SECONDS, hotAccounts, coldAccounts);
+
+		String report = stats.report(elapsedNanos, virtualThreads);
+		System.out.print(report);
+		Path reportPath = Path.of(REPORT);
+		Files.createDirectories(reportPath.toAbsolutePath().getParent());
+		Files.writeString(reportPath, report);
+
+		assertThat(stats.totalErrors()).as("server errors").isZero();
+	}
+
+	private long run(Stats stats, int seconds, List<String> hotAccounts, List<String> coldAccounts) throws Exception {
+		ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+
+		try {
+			List<Future<?>> workers = new ArrayList<>(THREADS);
+			for (int i = 0; i < THREADS; i++) {
+				workers.add(pool.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						step(stats, hotAccounts, coldAccounts);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get(seconds + 120L, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * One operation drawn from the workload mix
+	 */
+	private void step(Stats stats, List<String> hotAccounts, List<String> coldAccounts) throws Exception {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String hot = hotAccounts.get(random.nextInt(hotAccounts.size()));
+		String cold = coldAccounts.get(random.nextInt(coldAccounts.size()));
+		String amount = random.nextInt(1, 500) + ".00";
+		int roll = random.nextInt(100);
+
+		if (roll < 2) {
+			Long customerId = createCustomer(stats);
+			if (customerId != null) {
+				openAccount(stats, customerId);
+			}
+		} else if (roll < 27) {
+			post(stats, Operation.DEPOSIT_HOT, "/api/transactions/deposit", posting(hot, amount));
+		} else if (roll < 42) {
+			post(stats, Operation.WITHDRAW_HOT, "/api/transactions/withdraw", posting(hot, amount));
+		} else if (roll < 57) {
+			post(stats, Operation.DEPOSIT_COLD, "/api/transactions/deposit", posting(cold, amount));
+		} else if (roll < 67) {
+			post(stats, Operation.WITHDRAW_COLD, "/api/transactions/withdraw", posting(cold, amount));
+		} else if (roll < 87) {
+			String account = random.nextBoolean() ? hot : cold;
+			get(stats, Operation.HISTORY_PAGE, "/api/transactions/account/" + account + "/page?size=50");
+		} else {
+			get(stats, Operation.ACCOUNT_INQUIRY, "/api/accounts/" + (random.nextBoolean() ? hot : cold));
+		}
+	}
+
+	private List<String> openAccounts(int count) throws Exception {
+		Stats setup = new Stats();
+		List<String> accountNumbers = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Long customerId = createCustomer(setup);
+			assertThat(customerId).as("setup customer").isNotNull();
+			String accountNumber = openAccount(setup, customerId);
+			assertThat(accountNumber).as("setup account").isNotNull();
+			post(setup, Operation.DEPOSIT_COLD, "/api/transactions/deposit", posting(accountNumber, OPENING_BALANCE));
+			accountNumbers.add(accountNumber);
+		}
+		assertThat(setup.totalErrors()).as("setup errors").isZero();
+		return accountNumbers;
+	}
+
+	private Long createCustomer(Stats stats) throws Exception {
+		String body = objectMapper.writeValueAsString(Map.of(
+				"name", "Load Test",
+				"email", "load-" + UUID.randomUUID() + "@example.com",
+				"phone", "555-0100"));
+		JsonNode response = post(stats, Operation.CREATE_CUSTOMER, "/api/customers", body);
+		return response == null ? null : response.get("id").asLong();
+	}
+
+	private String openAccount(Stats stats, Long customerId) throws Exception {
+		String body = objectMapper.writeValueAsString(Map.of(
+				"customerId", customerId,
+				"accountType", "SAVINGS"));
+		JsonNode response = post(stats, Operation.OPEN_ACCOUNT, "/api/accounts", body);
+		return response == null ? null : response.get("accountNumber").asText();
+	}
+
+	private String posting(String accountNumber, String amount) throws IOException {
+		return objectMapper.writeValueAsString(Map.of(
+				"accountNumber", accountNumber,
+				"amount", amount,
+				"description", "load test"));
+	}
+
+	private JsonNode post(Stats stats, Operation operation, String path, String body) throws Exception {
+		return send(stats, operation, HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build());
+	}
+
+	private JsonNode get(Stats stats, Operation operation, String path) throws Exception {
+		return send(stats, operation, HttpRequest.newBuilder(uri(path)).GET().build());
+	}
+
+	/**
+	 * Send a request and record its latency; returns the parsed body of a 2xx response
+	 */
+	private JsonNode send(Stats stats, Operation operation, HttpRequest request) throws Exception {
+		long start = System.nanoTime();
+		HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		long micros = (System.nanoTime() - start) / 1_000;
+
+		stats.record(operation, micros, response.statusCode());
+		return response.statusCode() / 100 == 2 ? objectMapper.readTree(response.body()) : null;
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private enum Operation {
+		CREATE_CUSTOMER,
+		OPEN_ACCOUNT,
+		DEPOSIT_HOT,
+		WITHDRAW_HOT,
+		DEPOSIT_COLD,
+		WITHDRAW_COLD,
+		HISTORY_PAGE,
+		ACCOUNT_INQUIRY
+	}
+
+	/**
+	 * Per-operation latency histograms and outcome counters, safe for concurrent recording
+	 */
+	private static class Stats {
+
+		private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+		private final Map<Operation, LongAdder> rejections = new EnumMap<>(Operation.class);
+
+		private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+		Stats() {
+			for (Operation operation : Operation.values()) {
+				latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+				rejections.put(operation, new LongAdder());
+				errors.put(operation, new LongAdder());
+			}
+		}
+
+		void record(Operation operation, long micros, int status) {
+			latencies.get(operation).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+			if (status >= 500) {
+				errors.get(operation).increment();
+			} else if (status >= 400) {
+				rejections.get(operation).increment();
+			}
+		}
+
+		long totalErrors() {
+			return errors.values().stream().mapToLong(LongAdder::sum).sum();
+		}
+
+		String report(long elapsedNanos, boolean virtualThreads) {
+			double seconds = elapsedNanos / 1_000_000_000.0;
+			StringBuilder report = new StringBuilder();
+			report.append(String.format("[loadtest] %s threads=%d duration=%ds hotAccounts=%d coldAccounts=%d "
+							+ "serverThreads=%s%n",
+					LocalDateTime.now(), THREADS, DURATION_SECONDS, HOT_ACCOUNTS, COLD_ACCOUNTS,
+					virtualThreads ? "virtual" : "platform"));
+			report.append(String.format("[loadtest] %-16s %10s %10s %8s %8s %10s %10s %10s %10s%n",
+					"operation", "count", "ops/s", "4xx", "5xx", "p50(us)", "p99(us)", "p999(us)", "max(us)"));
+
+			long total = 0;
+			for (Operation operation : Operation.values()) {
+				Histogram histogram = latencies.get(operation);
+				long count = histogram.getTotalCount();
+				total += count;
+				report.append(String.format("[loadtest] %-16s %10d %10.0f %8d %8d %10d %10d %10d %10d%n",
+						operation, count, count / seconds,
+						rejections.get(operation).sum(), errors.get(operation).sum(),
+						histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+						histogram.getValueAtPercentile(99.9), histogram.getMaxValue()));
+			}
+			report.append(String.format("[loadtest] %-16s %10d %10.0f%n", "TOTAL", total, total / seconds));
+			return report.toString();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.springmvc.SpringBank.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountNumberGeneratorTest {
+
+	private static final long NOW = AccountNumberGenerator.EPOCH_MILLIS + 1_000_000_000L;
+
+	@Test
+	void numbersFitTheColumnAndCarryAValidCheckDigit() {
+		String accountNumber = new AccountNumberGenerator(5).next();
+
+		assertThat(accountNumber).hasSize(20).startsWith("ACC");
+		assertThat(AccountNumberGenerator.isValid(accountNumber)).isTrue();
+
+		// A single mistyped digit is caught
+		char wrong = accountNumber.charAt(10) == '9' ? '0' : (char) (accountNumber.charAt(10) + 1);
+		String typo = accountNumber.substring(0, 10) + wrong + accountNumber.substring(11);
+		assertThat(AccountNumberGenerator.isValid(typo)).isFalse();
+	}
+
+	@Test
+	void burstInOneMillisecondStaysUniqueAndIncreasing() {
+		// Frozen clock: far more than 128 numbers in the same millisecond
+		AccountNumberGenerator generator = new AccountNumberGenerator(1, () -> NOW);
+
+		String previous = "";
+		for (int i = 0; i < 10_000; i++) {
+			String accountNumber = generator.next();
+			assertThat(accountNumber).isGreaterThan(previous);
+			previous = accountNumber;
+		}
+	}
+
+	@Test
+	void clockSteppingBackDoesNotRepeatNumbers() {
+		AtomicLong clock = new AtomicLong(NOW);
+		AccountNumberGenerator generator = new AccountNumberGenerator(1, clock::get);
+
+		String before = generator.next();
+		clock.addAndGet(-5_000);
+		assertThat(generator.next()).isGreaterThan(before);
+	}
+
+	@Test
+	void nodesNeverCollideAndConcurrentCallersGetDistinctNumbers() throws Exception {
+		AccountNumberGenerator first = new AccountNumberGenerator(1, () -> NOW);
+		AccountNumberGenerator second = new AccountNumberGenerator(2, () -> NOW);
+		Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				AccountNumberGenerator generator = t % 2 == 0 ? first : second;
+				futures.add(pool.submit(() -> {
+					for (int i = 0; i < 5_000; i++) {
+						numbers.add(generator.next());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertThat(numbers).hasSize(8 * 5_000);
+		assertThat(numbers).allMatch(AccountNumberGenerator::isValid);
+	}
+
+	@Test
+	void advancingPastAStoredNumberSurvivesAClockStepBack() {
+		String stored = new AccountNumberGenerator(1, () -> NOW).next();
+
+		// Restarted with the clock five seconds behind where it was
+		AccountNumberGenerator restarted = new AccountNumberGenerator(1, () -> NOW - 5_000);
+		restarted.advancePast(stored);
+		assertThat(restarted.next()).isGreaterThan(stored);
+
+		// A lower node id still sorts after it: the generator moves on to the next millisecond
+		AccountNumberGenerator otherNode = new AccountNumberGenerator(0, () -> NOW - 5_000);
+		otherNode.advancePast(stored);
+		assertThat(otherNode.next()).isGreaterThan(stored);
+
+		assertThatThrownBy(() -> restarted.advancePast("ACC1754300000123"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsNodeIdsOutsideTheRange() {
+		assertThatThrownBy(() -> new AccountNumberGenerator(64)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new AccountNumberGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
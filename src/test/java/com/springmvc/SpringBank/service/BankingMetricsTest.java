@@ -0,0 +1,84 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.exception.AccountNotActiveException;
+import com.springmvc.SpringBank.exception.PostingEngineUnavailableException;
+import com.springmvc.SpringBank.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BankingMetricsTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private final BankingMetrics metrics = new BankingMetrics(registry);
+
+	@Test
+	void successfulPostingIsTimedAndLeavesNothingInFlight() {
+		String result = metrics.recordPosting(BankingMetrics.DEPOSIT, () -> {
+			assertThat(registry.get(BankingMetrics.IN_FLIGHT_GAUGE).gauge().value()).isEqualTo(1.0);
+			return "posted";
+		});
+
+		assertThat(result).isEqualTo("posted");
+		assertThat(registry.get(BankingMetrics.OPERATION_TIMER)
+				.tags("operation", BankingMetrics.DEPOSIT, "outcome", "success").timer().count()).isEqualTo(1);
+		assertThat(registry.get(BankingMetrics.IN_FLIGHT_GAUGE).gauge().value()).isZero();
+	}
+
+	@Test
+	void businessExceptionIsCountedAsRejectionByReason() {
+		assertThatThrownBy(() -> metrics.recordPosting(BankingMetrics.WITHDRAW, () -> {
+			throw new InsufficientFundsException("Insufficient balance");
+		})).isInstanceOf(InsufficientFundsException.class);
+
+		assertThat(registry.get(BankingMetrics.REJECTION_COUNTER)
+				.tags("operation", BankingMetrics.WITHDRAW, "reason", BankingMetrics.INSUFFICIENT_FUNDS)
+				.counter().count()).isEqualTo(1);
+		assertThat(registry.get(BankingMetrics.OPERATION_TIMER)
+				.tags("operation", BankingMetrics.WITHDRAW, "outcome", "rejected").timer().count()).isEqualTo(1);
+		assertThat(registry.get(BankingMetrics.IN_FLIGHT_GAUGE).gauge().value()).isZero();
+	}
+
+	@Test
+	void unexpectedExceptionIsTimedAsErrorWithoutRejection() {
+		assertThatThrownBy(() -> metrics.record(BankingMetrics.ACCOUNT_INQUIRY, () -> {
+			throw new RuntimeException("boom");
+		})).hasMessage("boom");
+
+		assertThat(registry.find(BankingMetrics.REJECTION_COUNTER).counter()).isNull();
+		assertThat(registry.get(BankingMetrics.OPERATION_TIMER)
+				.tags("operation", BankingMetrics.ACCOUNT_INQUIRY, "outcome", "error").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void onlyNonActiveAccountIllegalStateIsARejection() {
+		assertThatThrownBy(() -> metrics.recordPosting(BankingMetrics.DEPOSIT, () -> {
+			throw new AccountNotActiveException("Cannot post to non-active account");
+		})).isInstanceOf(AccountNotActiveException.class);
+		assertThatThrownBy(() -> metrics.record(BankingMetrics.TRANSFER, () -> {
+			throw new IllegalStateException("Cannot close account with positive balance");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(registry.get(BankingMetrics.REJECTION_COUNTER)
+				.tags("operation", BankingMetrics.DEPOSIT, "reason", BankingMetrics.ACCOUNT_NOT_ACTIVE)
+				.counter().count()).isEqualTo(1);
+		assertThat(registry.find(BankingMetrics.REJECTION_COUNTER)
+				.tags("operation", BankingMetrics.TRANSFER).counter()).isNull();
+		assertThat(registry.get(BankingMetrics.OPERATION_TIMER)
+				.tags("operation", BankingMetrics.TRANSFER, "outcome", "error").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void unavailablePostingEngineIsAnErrorNotARejection() {
+		assertThatThrownBy(() -> metrics.recordPosting(BankingMetrics.DEPOSIT, () -> {
+			throw new PostingEngineUnavailableException("Posting journal is full");
+		})).isInstanceOf(PostingEngineUnavailableException.class);
+
+		assertThat(registry.find(BankingMetrics.REJECTION_COUNTER).counter()).isNull();
+		assertThat(registry.get(BankingMetrics.OPERATION_TIMER)
+				.tags("operation", BankingMetrics.DEPOSIT, "outcome", "error").timer().count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,78 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.dto.CustomerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerCsvReaderTest {
+
+	@Test
+	void parsesQuotedFieldsWithCommasAndEscapedQuotes() {
+		assertThat(CustomerCsvReader.parseLine("Doe,\"Smith, Jane\",\"say \"\"hi\"\"\""))
+				.containsExactly("Doe", "Smith, Jane", "say \"hi\"");
+	}
+
+	@Test
+	void trimsFieldsAndTurnsEmptyOnesIntoNull() {
+		assertThat(CustomerCsvReader.parseLine("  John Doe , ,\"\"")).containsExactly("John Doe", null, null);
+		assertThat(CustomerCsvReader.parseLine("a,")).containsExactly("a", null);
+	}
+
+	@Test
+	void rejectsUnterminatedOrTrailingQuotes() {
+		assertThat(CustomerCsvReader.parseLine("\"John Doe,john@example.com")).isNull();
+		assertThat(CustomerCsvReader.parseLine("\"John\" Doe,john@example.com")).isNull();
+	}
+
+	@Test
+	void readsColumnsByHeaderNameAfterAByteOrderMark() {
+		CustomerCsvReader reader = reader(
+				"\uFEFFEmail, NAME ,Phone",
+				"jane@example.com,Jane Smith,555-0102",
+				"",
+				"john@example.com,\"Doe, John\",");
+
+		CustomerRequest jane = reader.next();
+		assertThat(jane.getName()).isEqualTo("Jane Smith");
+		assertThat(jane.getEmail()).isEqualTo("jane@example.com");
+		assertThat(jane.getPhone()).isEqualTo("555-0102");
+
+		// The blank line is skipped, not reported as a row
+		CustomerRequest john = reader.next();
+		assertThat(john.getName()).isEqualTo("Doe, John");
+		assertThat(john.getPhone()).isNull();
+		assertThat(reader.hasNext()).isFalse();
+	}
+
+	@Test
+	void malformedRowsAndColumnCountMismatchesYieldNull() {
+		CustomerCsvReader reader = reader(
+				"name,email",
+				"Jane Smith,jane@example.com,555-0102",
+				"Jane Smith",
+				"\"Jane Smith,jane@example.com",
+				"John Doe,john@example.com");
+
+		assertThat(reader.next()).isNull();
+		assertThat(reader.next()).isNull();
+		assertThat(reader.next()).isNull();
+		assertThat(reader.next().getEmail()).isEqualTo("john@example.com");
+		assertThat(reader.hasNext()).isFalse();
+	}
+
+	@Test
+	void rejectsAMissingOrIncompleteHeader() {
+		assertThatThrownBy(() -> reader()).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> reader("name,phone", "Jane Smith,555-0102"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static CustomerCsvReader reader(String... lines) {
+		return new CustomerCsvReader(new StringReader(String.join("\n", Arrays.asList(lines))));
+	}
+}
@@ -0,0 +1,129 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.dto.CustomerImportResponse;
+import com.springmvc.SpringBank.dto.CustomerImportResult;
+import com.springmvc.SpringBank.dto.CustomerRequest;
+import com.springmvc.SpringBank.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Bulk customer import: rejected rows are reported by their index in the import, in chunks
+ * of three rows so every test crosses a chunk boundary
+ */
+@SpringBootTest(properties = {
+		"springbank.customers.import-chunk-size=3"
+})
+@ActiveProfiles("test")
+class CustomerImportTest {
+
+	@Autowired
+	private CustomerService customerService;
+
+	@MockitoSpyBean
+	private CustomerRepository customerRepository;
+
+	@Test
+	void invalidRowsAreReportedByIndexAndTheRestImported() {
+		String valid = email();
+		String last = email();
+		CustomerImportResponse response = customerService.importCustomers(List.of(
+				new CustomerRequest("Valid Customer", valid, "555-0101"),
+				new CustomerRequest(null, email(), null),
+				new CustomerRequest("Bad Email", "not-an-email", null),
+				new CustomerRequest("Long Phone", email(), "555-0101-0101-0101-0101"),
+				new CustomerRequest("Last Customer", last, null)).iterator());
+
+		assertThat(response.getTotalRows()).isEqualTo(5);
+		assertThat(response.getImported()).isEqualTo(2);
+		assertThat(response.getRejected()).isEqualTo(3);
+		assertThat(response.getErrors())
+				.extracting(CustomerImportResult::getIndex, CustomerImportResult::getError)
+				.containsExactly(
+						tuple(1, "Customer name is required"),
+						tuple(2, "Email should be valid"),
+						tuple(3, "Phone number must not exceed 20 characters"));
+		assertThat(customerService.existsByEmail(valid)).isTrue();
+		assertThat(customerService.existsByEmail(last)).isTrue();
+	}
+
+	@Test
+	void duplicateEmailsInOneChunkKeepTheFirstRow() {
+		String shared = email();
+		String registered = email();
+		customerService.createCustomer("Registered Customer", registered, null);
+
+		CustomerImportResponse response = customerService.importCustomers(List.of(
+				new CustomerRequest("First Holder", shared, null),
+				new CustomerRequest("Second Holder", shared, null),
+				new CustomerRequest("Already There", registered, null),
+				new CustomerRequest("Other Customer", email(), null)).iterator());
+
+		assertThat(response.getImported()).isEqualTo(2);
+		assertThat(response.getErrors())
+				.extracting(CustomerImportResult::getIndex, CustomerImportResult::getEmail, CustomerImportResult::getError)
+				.containsExactly(
+						tuple(1, shared, "Duplicate email in import: " + shared),
+						tuple(2, registered, "Email already exists: " + registered));
+	}
+
+	@Test
+	void uniqueViolationFallsBackToRowByRowInserts() {
+		String registered = email();
+		customerService.createCustomer("Registered Customer", registered, null);
+		String before = email();
+		String after = email();
+
+		// As if the email had been registered between the IN check and the insert
+		doReturn(List.of()).when(customerRepository).findExistingEmails(anyCollection());
+
+		CustomerImportResponse response = customerService.importCustomers(List.of(
+				new CustomerRequest("Before Clash", before, null),
+				new CustomerRequest("Clashing Row", registered, null),
+				new CustomerRequest("After Clash", after, null)).iterator());
+
+		assertThat(response.getImported()).isEqualTo(2);
+		assertThat(response.getErrors())
+				.extracting(CustomerImportResult::getIndex, CustomerImportResult::getError)
+				.containsExactly(tuple(1, "Email already exists: " + registered));
+		assertThat(customerService.existsByEmail(before)).isTrue();
+		assertThat(customerService.existsByEmail(after)).isTrue();
+	}
+
+	@Test
+	void csvRowsThatCannotBeParsedAreReportedByIndex() {
+		String first = email();
+		String second = email();
+		String csv = String.join("\n", Arrays.asList(
+				"name,email,phone",
+				"First Customer," + first + ",555-0101",
+				"\"Unterminated," + email() + ",",
+				"Too,Many,Columns,Here",
+				"Second Customer," + second + ","));
+
+		CustomerImportResponse response = customerService.importCustomersCsv(new StringReader(csv));
+
+		assertThat(response.getTotalRows()).isEqualTo(4);
+		assertThat(response.getImported()).isEqualTo(2);
+		assertThat(response.getErrors())
+				.extracting(CustomerImportResult::getIndex, CustomerImportResult::getError)
+				.containsExactly(tuple(1, "Row could not be parsed"), tuple(2, "Row could not be parsed"));
+	}
+
+	private static String email() {
+		return "import-" + UUID.randomUUID() + "@example.com";
+	}
+}
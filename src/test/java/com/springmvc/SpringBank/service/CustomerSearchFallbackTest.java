@@ -0,0 +1,68 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Customer search while the index is unavailable: the database fallback must match the same
+ * fields and rank them the way the index does
+ */
+@SpringBootTest(properties = {
+		"springbank.customers.search.index-enabled=false"
+})
+@ActiveProfiles("test")
+class CustomerSearchFallbackTest {
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Test
+	void fallbackMatchesAndRanksLikeTheIndex() {
+		// A term no other customer contains, so the results are exactly the customers below
+		String term = "zq" + UUID.randomUUID().toString().substring(0, 8);
+		CustomerSearchIndex index = new CustomerSearchIndex(true);
+		List<Customer> customers = List.of(
+				create("Ann " + term, "a-" + UUID.randomUUID() + "@example.com", null),
+				create("Someone", "b-" + UUID.randomUUID() + "@example.com", "+1 " + term),
+				create(term + "son Lee", "c-" + UUID.randomUUID() + "@example.com", null),
+				create("Someone", "x" + term + "-" + UUID.randomUUID() + "@example.com", null),
+				create("Ann" + term, "d-" + UUID.randomUUID() + "@example.com", null),
+				create("Someone", term + "-" + UUID.randomUUID() + "@example.com", null),
+				create(term, "e-" + UUID.randomUUID() + "@example.com", null),
+				create("Unrelated", "f-" + UUID.randomUUID() + "@example.com", null));
+		customers.forEach(index::add);
+
+		String query = term.toUpperCase();
+		List<Long> expected = index.search(query, 0, 20);
+		assertThat(expected).hasSize(7);
+		assertThat(ids(customerService.findCustomersByName(query, 0, 20))).isEqualTo(expected);
+		assertThat(ids(customerService.findCustomersByName(query, 1, 3))).isEqualTo(expected.subList(3, 6));
+	}
+
+	@Test
+	void fallbackTreatsLikeWildcardsLiterally() {
+		String marker = UUID.randomUUID().toString().substring(0, 8);
+		Customer literal = create("Percent 100%" + marker, "g-" + UUID.randomUUID() + "@example.com", null);
+		create("Percent 100x" + marker, "h-" + UUID.randomUUID() + "@example.com", null);
+
+		assertThat(ids(customerService.findCustomersByName("100%" + marker, 0, 10)))
+				.containsExactly(literal.getId());
+		assertThat(customerService.findCustomersByName("   ", 0, 10)).isEmpty();
+	}
+
+	private Customer create(String name, String email, String phone) {
+		return customerService.createCustomer(name, email, phone);
+	}
+
+	private static List<Long> ids(List<Customer> customers) {
+		return customers.stream().map(Customer::getId).toList();
+	}
+}
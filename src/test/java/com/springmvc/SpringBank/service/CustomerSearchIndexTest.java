@@ -0,0 +1,66 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerSearchIndexTest {
+
+	private CustomerSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new CustomerSearchIndex(true);
+		add(1, "John Doe", "john.doe@example.com", "555-0101");
+		add(2, "Jane Smith", "jane.smith@example.com", "555-0102");
+		add(3, "Alice Johnson", "alice.johnson@example.com", "555-0104");
+		add(4, "Johnny", "johnny@example.com", null);
+		add(5, "john", null, null);
+	}
+
+	@Test
+	void ranksExactThenPrefixThenWordMatches() {
+		assertThat(index.search("JOHN", 0, 10)).containsExactly(5L, 1L, 4L, 3L);
+	}
+
+	@Test
+	void pagesThroughRankedMatches() {
+		assertThat(index.search("john", 1, 2)).containsExactly(1L, 4L);
+		assertThat(index.search("john", 4, 2)).isEmpty();
+	}
+
+	@Test
+	void shortTermsMatchTheStartOfAWord() {
+		assertThat(index.search("s", 0, 10)).containsExactly(2L);
+		assertThat(index.search("jo", 0, 10)).containsExactly(1L, 4L, 5L, 3L);
+	}
+
+	@Test
+	void matchesEmailAndPhone() {
+		assertThat(index.search("smith@", 0, 10)).containsExactly(2L);
+		assertThat(index.search("0104", 0, 10)).containsExactly(3L);
+	}
+
+	@Test
+	void trigramsOutOfOrderAreNotAMatch() {
+		// "ohn" and "joh" both occur in "john", but not "ohnjoh"
+		assertThat(index.search("ohnjoh", 0, 10)).isEmpty();
+		assertThat(index.search("nobody", 0, 10)).isEmpty();
+	}
+
+	@Test
+	void customerAddedTwiceIsIndexedOnce() {
+		add(2, "Jane Smith", "jane.smith@example.com", "555-0102");
+
+		assertThat(index.size()).isEqualTo(5);
+		assertThat(index.search("jane", 0, 10)).containsExactly(2L);
+	}
+
+	private void add(long id, String name, String email, String phone) {
+		Customer customer = new Customer(name, email, phone);
+		customer.setId(id);
+		index.add(customer);
+	}
+}
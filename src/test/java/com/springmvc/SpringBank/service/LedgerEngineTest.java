@@ -0,0 +1,94 @@
+package com.springmvc.SpringBank.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerEngineTest {
+
+	@Test
+	void accountKeysAreDistinctAndRejectOtherFormats() {
+		assertThat(LedgerEngine.accountKey("ACC1754300000123045"))
+				.isNotEqualTo(LedgerEngine.accountKey("ACC1754300000123046"));
+		// Same value, different number of leading zeros
+		assertThat(LedgerEngine.accountKey("ACC0042")).isNotEqualTo(LedgerEngine.accountKey("ACC042"));
+
+		assertThat(LedgerEngine.accountKey("ACC")).isZero();
+		assertThat(LedgerEngine.accountKey("ACC12X4")).isZero();
+		assertThat(LedgerEngine.accountKey("BNCH000001")).isZero();
+		assertThat(LedgerEngine.accountKey("ACC123456789012345678")).isZero();
+	}
+
+	@Test
+	void amountsConvertToMinorUnitsExactly() {
+		assertThat(LedgerEngine.toMinorUnits(new BigDecimal("25.50"))).isEqualTo(2550);
+		assertThat(LedgerEngine.toMinorUnits(new BigDecimal("7"))).isEqualTo(700);
+		assertThat(LedgerEngine.toDecimal(2550)).isEqualByComparingTo("25.50");
+		assertThatThrownBy(() -> LedgerEngine.toMinorUnits(new BigDecimal("0.001")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void longLongMapSurvivesGrowthAndRemoval() {
+		LongLongMap map = new LongLongMap(4);
+		for (long key = 1; key <= 10_000; key++) {
+			map.put(key, key * 100);
+		}
+		for (long key = 1; key <= 10_000; key += 2) {
+			assertThat(map.remove(key)).isTrue();
+		}
+
+		assertThat(map.size()).isEqualTo(5_000);
+		assertThat(map.get(3, -1)).isEqualTo(-1);
+		assertThat(map.get(4, -1)).isEqualTo(400);
+		assertThat(map.get(10_000, -1)).isEqualTo(1_000_000);
+	}
+
+	@Test
+	void ringBufferKeepsEachProducersOrder() throws Exception {
+		int producers = 4;
+		int perProducer = 10_000;
+		LedgerRingBuffer<long[]> ring = new LedgerRingBuffer<>(1024);
+
+		ExecutorService pool = Executors.newFixedThreadPool(producers);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int p = 0; p < producers; p++) {
+				long producer = p;
+				futures.add(pool.submit(() -> {
+					for (long i = 0; i < perProducer; i++) {
+						while (!ring.offer(new long[] { producer, i })) {
+							Thread.yield();
+						}
+					}
+				}));
+			}
+
+			long[] next = new long[producers];
+			int received = 0;
+			while (received < producers * perProducer) {
+				long[] element = ring.poll();
+				if (element == null) {
+					Thread.yield();
+					continue;
+				}
+				assertThat(element[1]).isEqualTo(next[(int) element[0]]++);
+				received++;
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			assertThat(ring.isEmpty()).isTrue();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.TestAccounts;
+import com.springmvc.SpringBank.entity.PostingDeadLetter;
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.exception.AccountNotFoundException;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import com.springmvc.SpringBank.repository.PostingDeadLetterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Persisting acknowledged postings, including the one-by-one fallback for failing batches
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PostingBatchWriterTest {
+
+	@Autowired
+	private PostingBatchWriter postingBatchWriter;
+
+	@Autowired
+	private PostingDeadLetterRepository postingDeadLetterRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Test
+	void poisonPostingIsDeadLetteredAndTheRestPersisted() {
+		String accountNumber = TestAccounts.open(customerService, accountService, AccountType.SAVINGS);
+		String missingAccount = "ACC" + System.nanoTime();
+		List<Transaction> postings = new ArrayList<>(List.of(
+				deposit(accountNumber, "10.00", "10.00"),
+				deposit(missingAccount, "5.00", "5.00"),
+				deposit(accountNumber, "2.50", "12.50")));
+
+		// The whole batch fails on the account that does not exist
+		assertThatThrownBy(() -> postingBatchWriter.write(postings)).isInstanceOf(AccountNotFoundException.class);
+		postings.forEach(posting -> posting.setId(null));
+
+		assertThat(postingBatchWriter.writeIsolating(postings, PostingDeadLetter.JOURNAL))
+				.extracting(Transaction::getAccountNumber).containsExactly(missingAccount);
+
+		assertThat(postings).isEmpty();
+		assertThat(accountRepository.findBalanceByAccountNumber(accountNumber).orElseThrow()).isEqualByComparingTo("12.50");
+		assertThat(accountService.getTransactionCount(accountNumber)).isEqualTo(2);
+		assertThat(postingDeadLetterRepository.findAll())
+				.filteredOn(deadLetter -> deadLetter.getAccountNumber().equals(missingAccount))
+				.singleElement()
+				.satisfies(deadLetter -> {
+					assertThat(deadLetter.getSource()).isEqualTo(PostingDeadLetter.JOURNAL);
+					assertThat(deadLetter.getAmount()).isEqualByComparingTo("5.00");
+					assertThat(deadLetter.getFailure()).contains(missingAccount);
+				});
+	}
+
+	private static Transaction deposit(String accountNumber, String amount, String balanceAfter) {
+		Transaction transaction = new Transaction(accountNumber, TransactionType.DEPOSIT, new BigDecimal(amount),
+				new BigDecimal(balanceAfter), "batch writer test");
+		transaction.setTransactionDate(LocalDateTime.now());
+		return transaction;
+	}
+}
@@ -0,0 +1,136 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.entity.Transaction;
+import com.springmvc.SpringBank.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostingJournalTest {
+
+	private static final int CAPACITY = 64 * 1024;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void recoversAppendedRecordsAfterReopen() throws Exception {
+		Path file = directory.resolve("journal.dat");
+		try (PostingJournal journal = new PostingJournal(file, CAPACITY, true)) {
+			journal.recover(0);
+			assertThat(journal.append(posting("ACC1", TransactionType.DEPOSIT, "100.00", "100.00"))).isTrue();
+			assertThat(journal.append(posting("ACC1", TransactionType.WITHDRAWAL, "25.50", "74.50"))).isTrue();
+		}
+
+		try (PostingJournal journal = new PostingJournal(file, CAPACITY, true)) {
+			List<Transaction> records = journal.recover(0);
+
+			assertThat(records).extracting(Transaction::getJournalSequence).containsExactly(1L, 2L);
+			assertThat(records.get(1).getTransactionType()).isEqualTo(TransactionType.WITHDRAWAL);
+			assertThat(records.get(1).getAmount()).isEqualByComparingTo("25.50");
+			assertThat(records.get(1).getBalanceAfter()).isEqualByComparingTo("74.50");
+			assertThat(records.get(1).getDescription()).isEqualTo("test posting");
+			assertThat(journal.getLastSequence()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void recoveryStopsAtCorruptedRecord() throws Exception {
+		Path file = directory.resolve("journal.dat");
+		try (PostingJournal journal = new PostingJournal(file, CAPACITY, true)) {
+			journal.recover(0);
+			journal.append(posting("ACC1", TransactionType.DEPOSIT, "10.00", "10.00"));
+			journal.append(posting("ACC1", TransactionType.DEPOSIT, "10.00", "20.00"));
+		}
+
+		// Flip a byte near the end of the second record's payload, as a torn write would
+		try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+			long offset = findSecondRecordEnd(file) - 1;
+			raw.seek(offset);
+			raw.write(raw.read() ^ 0xFF);
+		}
+
+		try (PostingJournal journal = new PostingJournal(file, CAPACITY, true)) {
+			assertThat(journal.recover(0)).extracting(Transaction::getJournalSequence).containsExactly(1L);
+		}
+	}
+
+	@Test
+	void drainedJournalIsResetButSequencesKeepIncreasing() throws Exception {
+		Path file = directory.resolve("journal.dat");
+		try (PostingJournal journal = new PostingJournal(file, CAPACITY, true)) {
+			journal.recover(41);
+			journal.append(posting("ACC1", TransactionType.DEPOSIT, "10.00", "10.00"));
+
+			PostingJournal.Batch batch = journal.read(100);
+			assertThat(batch.getRecords()).extracting(Transaction::getJournalSequence).containsExactly(42L);
+			journal.markDrained(batch);
+			assertThat(journal.hasUndrained()).isFalse();
+
+			journal.append(posting("ACC1", TransactionType.DEPOSIT, "10.00", "20.00"));
+		}
+
+		try (PostingJournal journal = new PostingJournal(file, CAPACITY, true)) {
+			assertThat(journal.recover(0)).extracting(Transaction::getJournalSequence).containsExactly(43L);
+		}
+	}
+
+	@Test
+	void appendReportsFullJournal() throws Exception {
+		try (PostingJournal journal = new PostingJournal(directory.resolve("journal.dat"), 256, false)) {
+			journal.recover(0);
+			int appended = 0;
+			while (journal.append(posting("ACC1", TransactionType.DEPOSIT, "1.00", "1.00"))) {
+				appended++;
+			}
+			assertThat(appended).isPositive();
+		}
+	}
+
+	@Test
+	void appendRejectsFieldsTooLongForTheRecordFormat() throws Exception {
+		Path file = directory.resolve("journal.dat");
+		try (PostingJournal journal = new PostingJournal(file, 1024 * 1024, true)) {
+			journal.recover(0);
+			journal.append(posting("ACC1", TransactionType.DEPOSIT, "10.00", "10.00"));
+
+			Transaction tooLong = posting("ACC1", TransactionType.DEPOSIT, "10.00", "20.00");
+			// Multi-byte characters: the limit is on UTF-8 bytes, not characters
+			tooLong.setDescription("\u00e9".repeat(PostingJournal.MAX_FIELD_BYTES / 2 + 1));
+			assertThatThrownBy(() -> journal.append(tooLong)).isInstanceOf(IllegalArgumentException.class);
+			assertThat(tooLong.getJournalSequence()).isNull();
+
+			journal.append(posting("ACC1", TransactionType.DEPOSIT, "10.00", "20.00"));
+		}
+
+		try (PostingJournal journal = new PostingJournal(file, 1024 * 1024, true)) {
+			assertThat(journal.recover(0)).extracting(Transaction::getJournalSequence).containsExactly(1L, 2L);
+		}
+	}
+
+	private static long findSecondRecordEnd(Path file) throws Exception {
+		try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "r")) {
+			long position = 64;
+			for (int i = 0; i < 2; i++) {
+				raw.seek(position);
+				position += 8 + raw.readInt();
+			}
+			return position;
+		}
+	}
+
+	private static Transaction posting(String accountNumber, TransactionType type, String amount, String balanceAfter) {
+		Transaction transaction = new Transaction(accountNumber, type, new BigDecimal(amount),
+				new BigDecimal(balanceAfter), "test posting");
+		transaction.setTransactionDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+		return transaction;
+	}
+}
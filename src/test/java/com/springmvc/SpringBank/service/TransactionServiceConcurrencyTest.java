@@ -0,0 +1,186 @@
+package com.springmvc.SpringBank.service;
+
+import com.springmvc.SpringBank.TestAccounts;
+import com.springmvc.SpringBank.config.CacheConfig;
+import com.springmvc.SpringBank.dto.TransactionResponse;
+import com.springmvc.SpringBank.enums.AccountType;
+import com.springmvc.SpringBank.enums.TransactionType;
+import com.springmvc.SpringBank.exception.InsufficientFundsException;
+import com.springmvc.SpringBank.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stress tests for concurrent postings
+ * Fires thousands of parallel postings and checks that no balance update is lost
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionServiceConcurrencyTest {
+
+	private static final int THREADS = 32;
+
+	private static final int POSTINGS = 4000;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private CounterReconciliationService counterReconciliationService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void concurrentDepositsOnHotAccountAreNotLost() throws Exception {
+		String accountNumber = TestAccounts.open(customerService, accountService, AccountType.SAVINGS);
+
+		runConcurrently(POSTINGS, i -> () ->
+				transactionService.deposit(accountNumber, BigDecimal.ONE, "stress deposit"));
+
+		assertThat(accountService.findByAccountNumber(accountNumber).getBalance())
+				.isEqualByComparingTo(BigDecimal.valueOf(POSTINGS));
+		assertThat(transactionService.getTransactionCount(accountNumber)).isEqualTo(POSTINGS);
+	}
+
+	@Test
+	void interleavedDepositsAndWithdrawalsKeepBalanceConsistent() throws Exception {
+		String accountNumber = TestAccounts.open(customerService, accountService, AccountType.SAVINGS);
+		BigDecimal openingBalance = BigDecimal.valueOf(POSTINGS);
+		transactionService.deposit(accountNumber, openingBalance, "opening balance");
+
+		runConcurrently(POSTINGS, i -> i % 2 == 0
+				? () -> transactionService.deposit(accountNumber, BigDecimal.ONE, "stress deposit")
+				: () -> transactionService.withdraw(accountNumber, BigDecimal.ONE, "stress withdrawal"));
+
+		assertThat(accountService.findByAccountNumber(accountNumber).getBalance())
+				.isEqualByComparingTo(openingBalance);
+		assertThat(transactionService.getTransactionCount(accountNumber)).isEqualTo(POSTINGS + 1);
+	}
+
+	@Test
+	void opposingTransfersDoNotDeadlockAndConserveTotalBalance() throws Exception {
+		int accountCount = 8;
+		BigDecimal openingBalance = BigDecimal.valueOf(1000);
+		List<String> accountNumbers = new ArrayList<>();
+		for (int i = 0; i < accountCount; i++) {
+			String accountNumber = TestAccounts.open(customerService, accountService, AccountType.SAVINGS);
+			transactionService.deposit(accountNumber, openingBalance, "opening balance");
+			accountNumbers.add(accountNumber);
+		}
+
+		// Offsets 1..n-1 never pick the same account and cover both directions of every pair
+		runConcurrently(POSTINGS, i -> () -> {
+			String from = accountNumbers.get(i % accountCount);
+			String to = accountNumbers.get((i + 1 + (i / accountCount) % (accountCount - 1)) % accountCount);
+			try {
+				return transactionService.transfer(from, to, BigDecimal.valueOf(i % 5 + 1), "stress transfer");
+			} catch (InsufficientFundsException e) {
+				return null;
+			}
+		});
+
+		BigDecimal total = BigDecimal.ZERO;
+		for (String accountNumber : accountNumbers) {
+			BigDecimal balance = accountService.findByAccountNumber(accountNumber).getBalance();
+			assertThat(balance).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+			total = total.add(balance);
+		}
+		assertThat(total).isEqualByComparingTo(openingBalance.multiply(BigDecimal.valueOf(accountCount)));
+	}
+
+	@Test
+	void retriedIdempotentDepositIsPostedOnce() throws Exception {
+		String accountNumber = TestAccounts.open(customerService, accountService, AccountType.SAVINGS);
+		String idempotencyKey = UUID.randomUUID().toString();
+
+		runConcurrently(THREADS * 4, i -> () -> transactionService.postIdempotent(
+				idempotencyKey, TransactionType.DEPOSIT, accountNumber, BigDecimal.TEN, "retried deposit"));
+
+		// A retry after the key has left the in-memory index is caught by the unique column
+		cacheManager.getCache(CacheConfig.IDEMPOTENCY_KEYS).clear();
+		TransactionResponse replay = transactionService.postIdempotent(
+				idempotencyKey, TransactionType.DEPOSIT, accountNumber, BigDecimal.TEN, "retried deposit");
+
+		assertThat(replay.getTransactionId()).isNotNull();
+		assertThat(accountService.findByAccountNumber(accountNumber).getBalance())
+				.isEqualByComparingTo(BigDecimal.TEN);
+		assertThat(transactionService.getTransactionCount(accountNumber)).isEqualTo(1);
+		assertThatThrownBy(() -> transactionService.postIdempotent(
+				idempotencyKey, TransactionType.WITHDRAWAL, accountNumber, BigDecimal.TEN, "different posting"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void reconciliationRepairsDriftedTransactionCount() throws Exception {
+		String accountNumber = TestAccounts.open(customerService, accountService, AccountType.SAVINGS);
+
+		runConcurrently(THREADS * 4, i -> () ->
+				transactionService.deposit(accountNumber, BigDecimal.ONE, "counted deposit"));
+		assertThat(transactionService.getTransactionCount(accountNumber)).isEqualTo(THREADS * 4);
+
+		transactionTemplate.executeWithoutResult(status -> accountRepository.setTransactionCount(accountNumber, 7));
+		cacheManager.getCache(CacheConfig.ACCOUNTS).evict(accountNumber);
+
+		assertThat(counterReconciliationService.reconcile()).isPositive();
+		assertThat(transactionService.getTransactionCount(accountNumber)).isEqualTo(THREADS * 4);
+	}
+
+	private void runConcurrently(int tasks, TaskFactory factory) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>(tasks);
+
+		try {
+			for (int i = 0; i < tasks; i++) {
+				Callable<?> task = factory.create(i);
+				futures.add(pool.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(2, TimeUnit.MINUTES);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface TaskFactory {
+		Callable<?> create(int index);
+	}
+}